@@ -29,17 +29,143 @@ public abstract class Options {
     public static final String READ_XQUERY_FILE = "spark.marklogic.read.xqueryFile";
     public static final String READ_VARS_PREFIX = "spark.marklogic.read.vars.";
 
+    /**
+     * Set to "true" when each value returned by custom code is a batch of rows - either a JSON array or a string of
+     * newline-delimited JSON - instead of a single row. Each batch is streamed into rows by a single JSON parser,
+     * which avoids the overhead of MarkLogic returning every row as a separate value.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_BATCHED_RESULTS = "spark.marklogic.read.batchedResults";
+
     public static final String READ_PARTITIONS_INVOKE = "spark.marklogic.read.partitions.invoke";
     public static final String READ_PARTITIONS_JAVASCRIPT = "spark.marklogic.read.partitions.javascript";
     public static final String READ_PARTITIONS_JAVASCRIPT_FILE = "spark.marklogic.read.partitions.javascriptFile";
     public static final String READ_PARTITIONS_XQUERY = "spark.marklogic.read.partitions.xquery";
     public static final String READ_PARTITIONS_XQUERY_FILE = "spark.marklogic.read.partitions.xqueryFile";
 
+    /**
+     * Set to "true" for the ID of each forest in the database associated with the connection to be used as a
+     * partition for custom code, without the need to define code for returning partitions. Ignored if code for
+     * returning partitions is defined.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_PARTITIONS_FORESTS = "spark.marklogic.read.partitions.forests";
+
+    /**
+     * When streaming rows via custom code, defines the maximum number of user-defined partitions that are read in a
+     * single micro-batch, with each partition being read by a separate partition reader. Defaults to 1.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_MAX_PARTITIONS_PER_TRIGGER = "spark.marklogic.read.maxPartitionsPerTrigger";
+
     public static final String READ_OPTIC_QUERY = "spark.marklogic.read.opticQuery";
     public static final String READ_NUM_PARTITIONS = "spark.marklogic.read.numPartitions";
     public static final String READ_BATCH_SIZE = "spark.marklogic.read.batchSize";
     public static final String READ_PUSH_DOWN_AGGREGATES = "spark.marklogic.read.pushDownAggregates";
 
+    /**
+     * Whether each partition makes a single request when an aggregation is pushed down. Defaults to "true" when
+     * {@code READ_BATCH_SIZE} is not set and "false" otherwise. When "false", each partition makes a request for each
+     * of its buckets, with each request returning partial aggregates that Spark then merges. This allows for the work
+     * of the aggregation to be spread across many smaller requests to MarkLogic.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_MERGE_BUCKETS_FOR_AGGREGATES = "spark.marklogic.read.mergeBucketsForAggregates";
+
+    /**
+     * Number of buckets - i.e. responses from MarkLogic - that each partition reader will read ahead in the background
+     * when reading rows via an Optic query, such that the request for the next bucket runs while Spark processes the
+     * rows in the current bucket. Requests are made one at a time. Defaults to zero, in which case each bucket is read
+     * only after the previous one has been processed.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_PREFETCH_BUCKETS = "spark.marklogic.read.prefetchBuckets";
+
+    /**
+     * Limits the amount of memory used by prefetched buckets; once the responses waiting to be processed by a
+     * partition reader reach this number of bytes, no further buckets are requested until a response is processed.
+     * As only one request is made at a time, this can be exceeded by at most the size of one response. Defaults to
+     * 64MB.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_PREFETCH_MAX_BYTES = "spark.marklogic.read.prefetchMaxBytes";
+
+    /**
+     * Set to "true" for rows read via an Optic query to be returned to Spark in columnar batches instead of one row at
+     * a time. Only applies when every column in the schema has a string, numeric, boolean, date, or timestamp type.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_COLUMNAR = "spark.marklogic.read.columnar";
+
+    /**
+     * When {@code READ_COLUMNAR} is "true", set to "true" for the column vectors in each batch to be allocated in
+     * off-heap memory instead of on the JVM heap.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_COLUMNAR_OFF_HEAP = "spark.marklogic.read.columnarOffHeap";
+
+    /**
+     * Number of seconds for which the schema inferred for an Optic query and the analysis of the query's plan are
+     * cached in the Spark driver, such that reading rows with the same query and connection options again within that
+     * time requires fewer calls to MarkLogic. A new server timestamp is still obtained for each read. Defaults to zero,
+     * in which case nothing is cached. The cache can be cleared via {@code OpticReadCache.clear()}.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_CACHE_TTL = "spark.marklogic.read.cacheTtl";
+
+    /**
+     * When streaming rows via an Optic query, defines the maximum number of buckets - i.e. requests to MarkLogic - that
+     * are read in a single micro-batch, with each bucket being read by a separate partition reader. Defaults to 1.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_MAX_BUCKETS_PER_TRIGGER = "spark.marklogic.read.maxBucketsPerTrigger";
+
+    /**
+     * Maximum number of rows that a single request to MarkLogic may return when reading rows via an Optic query. If a
+     * request would return more rows than this - which can happen when row IDs are not evenly distributed - the
+     * connector splits the request's range of row IDs into smaller ranges and makes a separate request for each one.
+     * Defaults to zero, in which case requests are not split.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_SPLIT_BUCKET_MAX_ROWS = "spark.marklogic.read.splitBucketMaxRows";
+
+    /**
+     * Name of a numeric column used to partition an Optic query that does not use {@code op.fromView}, such as a
+     * query using {@code op.fromSQL} or {@code op.fromSearchDocs}. The range between
+     * {@code READ_PARTITION_LOWER_BOUND} and {@code READ_PARTITION_UPPER_BOUND} is divided evenly across the number of
+     * partitions defined by {@code READ_NUM_PARTITIONS}. Has no effect on a query that uses {@code op.fromView}.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_PARTITION_COLUMN = "spark.marklogic.read.partitionColumn";
+
+    /**
+     * Required when {@code READ_PARTITION_COLUMN} is set; used to determine the range of values read by each
+     * partition. Rows with a value less than this - or with no value - are read by the first partition.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_PARTITION_LOWER_BOUND = "spark.marklogic.read.partitionLowerBound";
+
+    /**
+     * Required when {@code READ_PARTITION_COLUMN} is set; used to determine the range of values read by each
+     * partition. Rows with a value greater than or equal to this are read by the last partition.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_PARTITION_UPPER_BOUND = "spark.marklogic.read.partitionUpperBound";
+
     // "categories" as defined by https://docs.marklogic.com/REST/GET/v1/documents .
     public static final String READ_DOCUMENTS_CATEGORIES = "spark.marklogic.read.documents.categories";
     public static final String READ_DOCUMENTS_COLLECTIONS = "spark.marklogic.read.documents.collections";
@@ -47,6 +173,54 @@ public abstract class Options {
     public static final String READ_DOCUMENTS_FILTERED = "spark.marklogic.read.documents.filtered";
     public static final String READ_DOCUMENTS_OPTIONS = "spark.marklogic.read.documents.options";
     public static final String READ_DOCUMENTS_PARTITIONS_PER_FOREST = "spark.marklogic.read.documents.partitionsPerForest";
+
+    /**
+     * Defines the maximum number of URIs to be read by a single partition. A forest will be given additional
+     * partitions beyond the value of {@code READ_DOCUMENTS_PARTITIONS_PER_FOREST} as needed. This results in many small
+     * partitions that Spark assigns to executors as they become available, which avoids a stage waiting on a few
+     * long-running partitions.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_DOCUMENTS_MAX_URIS_PER_PARTITION = "spark.marklogic.read.documents.maxUrisPerPartition";
+
+    /**
+     * When using a direct connection, set to "true" for partitions to be spread evenly across the available hosts in
+     * the cluster, instead of each partition being read via the host of its forest. A forest that has failed over to a
+     * replica is always read via the host of its open replica.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_DOCUMENTS_BALANCE_HOSTS = "spark.marklogic.read.documents.balanceHosts";
+
+    /**
+     * Restricts the documents read to those modified at or after the given xs:dateTime value - e.g.
+     * "2025-01-01T00:00:00Z". By default, this is based on the "last-modified" property that MarkLogic maintains for
+     * each document when the "maintain last modified" database setting is enabled; a dateTime range index must exist on
+     * that property. Cannot be combined with {@code READ_DOCUMENTS_QUERY}.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_DOCUMENTS_MODIFIED_SINCE = "spark.marklogic.read.documents.modifiedSince";
+
+    /**
+     * Name of an element or JSON property with a dateTime range index to use instead of the "last-modified" property
+     * when {@code READ_DOCUMENTS_MODIFIED_SINCE} is set or when streaming documents. A namespaced element can be
+     * identified via "{namespace}localName".
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_DOCUMENTS_MODIFIED_SINCE_INDEX = "spark.marklogic.read.documents.modifiedSinceIndex";
+
+    /**
+     * Number of milliseconds that each micro-batch of a document stream reads before the end of the previous
+     * micro-batch, so that documents modified by a transaction that commits late are still read. Defaults to 30000.
+     * Documents modified within this window may be read by more than one micro-batch.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_DOCUMENTS_STREAM_OVERLAP = "spark.marklogic.read.documents.streamOverlap";
+
     // Corresponds to "q" at https://docs.marklogic.com/REST/POST/v1/search, known as a "string query".
     // Corresponds to the complex query submitted via the request body at https://docs.marklogic.com/REST/POST/v1/search .
     public static final String READ_DOCUMENTS_QUERY = "spark.marklogic.read.documents.query";
@@ -66,6 +240,15 @@ public abstract class Options {
     public static final String READ_TRIPLES_FILTERED = "spark.marklogic.read.triples.filtered";
     public static final String READ_TRIPLES_BASE_IRI = "spark.marklogic.read.triples.baseIri";
 
+    /**
+     * Set to "true" for each partition reader to retrieve the next batch of URIs and its triples in a background
+     * thread while Spark processes the triples in the current batch. Each prefetched batch of triples is held in
+     * memory until it is needed.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_TRIPLES_PREFETCH = "spark.marklogic.read.triples.prefetch";
+
     /**
      * The connector uses a consistent snapshot by default. Setting this to false results in queries being executed
      * at multiple points of time, potentially yielding inconsistent results.
@@ -83,6 +266,26 @@ public abstract class Options {
     public static final String READ_FILES_COMPRESSION = "spark.marklogic.read.files.compression";
     public static final String READ_FILES_ENCODING = "spark.marklogic.read.files.encoding";
     public static final String READ_FILES_ABORT_ON_FAILURE = "spark.marklogic.read.files.abortOnFailure";
+
+    /**
+     * Number of bytes at which an uncompressed JSON Lines file or aggregate XML file is split into ranges of bytes,
+     * with each range being read by a separate partition. Each range is aligned on line boundaries or on the start tag
+     * of the aggregate XML element. Zip files and archive files are also split, with each range containing entries
+     * with at least this many compressed bytes. Defaults to zero, in which case files are not split.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_FILES_SPLIT_SIZE = "spark.marklogic.read.files.splitSize";
+
+    /**
+     * Maximum number of bytes of files to be read by a single partition. When set and the number of partitions is not
+     * specified, small files are combined into partitions of up to this size instead of each file being read by a
+     * separate partition.
+     *
+     * @since 2.6.0
+     */
+    public static final String READ_FILES_MAX_PARTITION_BYTES = "spark.marklogic.read.files.maxPartitionBytes";
+
     public static final String READ_ARCHIVES_CATEGORIES = "spark.marklogic.read.archives.categories";
 
     // "Aggregate" = an XML document containing N child elements, each of which should become a row / document.
@@ -9,6 +9,7 @@ import com.marklogic.client.row.RowManager;
 import com.marklogic.spark.reader.document.DocumentRowSchema;
 import com.marklogic.spark.reader.document.DocumentTable;
 import com.marklogic.spark.reader.file.TripleRowSchema;
+import com.marklogic.spark.reader.optic.OpticReadCache;
 import com.marklogic.spark.reader.optic.OpticReadContext;
 import com.marklogic.spark.reader.optic.SchemaInferrer;
 import com.marklogic.spark.writer.WriteContext;
@@ -147,7 +148,18 @@ public class DefaultSource implements TableProvider, DataSourceRegister {
         if (query == null || query.trim().isEmpty()) {
             throw new ConnectorException(Util.getOptionNameForErrorMessage("spark.marklogic.read.noOpticQuery"));
         }
-        RowManager rowManager = new ContextSupport(caseSensitiveOptions).connectToMarkLogic().newRowManager();
+        final ContextSupport context = new ContextSupport(caseSensitiveOptions);
+        final long cacheTtl = context.getNumericOption(Options.READ_CACHE_TTL, 0, 0);
+        if (cacheTtl > 0) {
+            StructType cachedSchema = OpticReadCache.getSchema(caseSensitiveOptions, cacheTtl);
+            if (cachedSchema != null) {
+                if (Util.MAIN_LOGGER.isDebugEnabled()) {
+                    logger.debug("Using cached schema for Optic query: {}", cachedSchema);
+                }
+                return cachedSchema;
+            }
+        }
+        RowManager rowManager = context.connectToMarkLogic().newRowManager();
         RawQueryDSLPlan dslPlan = rowManager.newRawQueryDSLPlan(new StringHandle(query));
         try {
             // columnInfo is what forces a minimum MarkLogic version of 10.0-9 or higher.
@@ -156,6 +168,9 @@ public class DefaultSource implements TableProvider, DataSourceRegister {
             if (Util.MAIN_LOGGER.isDebugEnabled()) {
                 logger.debug("Inferred schema from Optic columnInfo: {}", schema);
             }
+            if (cacheTtl > 0) {
+                OpticReadCache.putSchema(caseSensitiveOptions, schema);
+            }
             return schema;
         } catch (Exception ex) {
             throw new ConnectorException(String.format("Unable to run Optic query %s; cause: %s", query, ex.getMessage()), ex);
@@ -5,6 +5,8 @@ package com.marklogic.spark.reader;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
 import com.marklogic.spark.JsonRowSerializer;
 import org.apache.spark.sql.catalyst.InternalRow;
 import org.apache.spark.sql.catalyst.json.CreateJacksonParser;
@@ -18,6 +20,7 @@ import scala.Function2;
 import scala.collection.JavaConverters;
 import scala.collection.Seq;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -47,10 +50,50 @@ public class JsonRowDeserializer {
         return this.jacksonParser.parse(json, this.jsonParserCreator, this.utf8StringCreator).head();
     }
 
+    /**
+     * Deserializes the JSON object that the given parser is positioned at - i.e. the parser's current token must be
+     * the start of the object. This allows for a stream of JSON objects to be converted into rows without first
+     * reading each object into a string. When this returns, the parser is positioned at the end of the object.
+     *
+     * @param parser
+     * @return
+     */
+    public InternalRow deserializeJson(JsonParser parser) {
+        return this.jacksonParser.parse(parser, ObjectParser::new, p -> UTF8String.fromString("JSON object")).head();
+    }
+
     private JacksonParser newJacksonParser(StructType schema) {
         final boolean allowArraysAsStructs = true;
         final Seq<Filter> filters = JavaConverters.asScalaIterator(new ArrayList<Filter>().iterator()).toSeq();
         JSONOptions jsonOptions = new JsonRowSerializer(schema, new HashMap<>()).getJsonOptions();
         return new JacksonParser(schema, jsonOptions, allowArraysAsStructs, filters);
     }
+
+    /**
+     * Spark's JacksonParser advances to the first token and closes its parser once an object has been deserialized.
+     * This allows for a parser that is already positioned at the start of an object to be used, without that parser
+     * being closed.
+     */
+    private static class ObjectParser extends JsonParserDelegate {
+
+        private boolean atStartOfObject = true;
+
+        ObjectParser(JsonFactory factory, JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            if (atStartOfObject) {
+                atStartOfObject = false;
+                return delegate.currentToken();
+            }
+            return delegate.nextToken();
+        }
+
+        @Override
+        public void close() {
+            // The underlying parser is closed by whoever created it.
+        }
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marklogic.spark.ConnectorException;
+import org.apache.spark.sql.connector.read.streaming.Offset;
+
+/**
+ * Offset for a stream read via {@code MicroBatchRanges}, consisting of the number of items that have been read.
+ * Streams prior to the 2.6.0 release used a plain number as the offset that instead identified the index of the last
+ * item read. As that number cannot be reliably converted, it is rejected so that a stream is not silently restarted
+ * one item off from where it stopped.
+ */
+class MicroBatchOffset extends Offset {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final long itemsRead;
+
+    MicroBatchOffset(long itemsRead) {
+        this.itemsRead = itemsRead;
+    }
+
+    static MicroBatchOffset fromJson(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (!node.isObject() || !node.has("itemsRead")) {
+                throw new ConnectorException(String.format("Unsupported offset for streaming from MarkLogic: %s; " +
+                    "please start the stream with a new checkpoint location.", json));
+            }
+            return new MicroBatchOffset(node.get("itemsRead").asLong());
+        } catch (JsonProcessingException e) {
+            throw new ConnectorException(String.format("Unable to read offset for streaming from MarkLogic: %s; cause: %s",
+                json, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public String json() {
+        return objectMapper.createObjectNode().put("itemsRead", itemsRead).toString();
+    }
+
+    long getItemsRead() {
+        return itemsRead;
+    }
+}
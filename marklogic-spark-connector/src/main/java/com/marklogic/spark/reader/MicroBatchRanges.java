@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader;
+
+import org.apache.spark.sql.connector.read.streaming.Offset;
+import org.apache.spark.sql.connector.read.streaming.ReadLimit;
+import org.apache.spark.sql.connector.read.streaming.ReadMaxFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handles the offsets for a micro-batch stream that reads a fixed, ordered list of items, such as the buckets of an
+ * Optic query or the user-defined partitions of custom code. An offset is the number of items that have been read, so
+ * a micro-batch with a start offset of 2 and an end offset of 5 reads the items at indices 2, 3, and 4. The number of
+ * items in each micro-batch is limited by a {@code ReadMaxFiles} limit, as Spark does not have a read limit that is
+ * more appropriate for an item. See {@code MicroBatchOffset} for how offsets are serialized.
+ */
+public class MicroBatchRanges {
+
+    private static final Logger logger = LoggerFactory.getLogger(MicroBatchRanges.class);
+
+    private final int itemCount;
+
+    // Set when Spark's Trigger.AvailableNow is used; no item at or beyond this offset will be read.
+    private Long availableNowOffset;
+
+    public MicroBatchRanges(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public void prepareForTriggerAvailableNow() {
+        this.availableNowOffset = (long) itemCount;
+    }
+
+    /**
+     * @return the number of items that will have been read once the next micro-batch completes, or null if every
+     * item has been read
+     */
+    public Offset latestOffset(Offset startOffset, ReadLimit limit) {
+        final long start = ((MicroBatchOffset) startOffset).getItemsRead();
+        long end = availableNowOffset != null ? availableNowOffset : itemCount;
+        if (limit instanceof ReadMaxFiles) {
+            end = Math.min(end, start + ((ReadMaxFiles) limit).maxFiles());
+        }
+        if (start >= end) {
+            return null;
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Returning latest offset: {}", end);
+        }
+        return new MicroBatchOffset(end);
+    }
+
+    /**
+     * @return the index of the first item to read (inclusive) and the index of the last item to read (exclusive) for
+     * a micro-batch; the two are equal if there is nothing to read
+     */
+    public int[] getIndexRange(Offset start, Offset end) {
+        final int endIndex = (int) Math.min(((MicroBatchOffset) end).getItemsRead(), itemCount);
+        final int startIndex = (int) Math.min(((MicroBatchOffset) start).getItemsRead(), endIndex);
+        return new int[]{startIndex, endIndex};
+    }
+
+    public Offset initialOffset() {
+        return new MicroBatchOffset(0);
+    }
+
+    public Offset deserializeOffset(String json) {
+        return MicroBatchOffset.fromJson(json);
+    }
+}
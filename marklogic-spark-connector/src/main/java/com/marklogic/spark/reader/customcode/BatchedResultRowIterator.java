@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.customcode;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.marklogic.client.eval.EvalResult;
+import com.marklogic.client.io.InputStreamHandle;
+import com.marklogic.spark.ConnectorException;
+import com.marklogic.spark.reader.JsonRowDeserializer;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.unsafe.types.UTF8String;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Converts the values returned by custom code into rows when each value is a batch of rows - either a JSON array or
+ * a string of newline-delimited JSON. A single parser streams through each value, such that rows are neither
+ * materialized as separate values by MarkLogic nor read into strings before being deserialized.
+ */
+class BatchedResultRowIterator implements Iterator<InternalRow>, Closeable {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Iterator<EvalResult> results;
+
+    // Null when the default schema is used, in which case each row consists of a single string column.
+    private final JsonRowDeserializer jsonRowDeserializer;
+
+    private JsonParser parser;
+    private boolean inArray;
+    private InternalRow nextRow;
+
+    BatchedResultRowIterator(Iterator<EvalResult> results, JsonRowDeserializer jsonRowDeserializer) {
+        this.results = results;
+        this.jsonRowDeserializer = jsonRowDeserializer;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null) {
+            try {
+                nextRow = readNextRow();
+            } catch (IOException e) {
+                throw new ConnectorException(String.format("Unable to read batch of rows returned by custom code; cause: %s", e.getMessage()), e);
+            }
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public InternalRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        InternalRow row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    private InternalRow readNextRow() throws IOException {
+        while (true) {
+            if (parser == null) {
+                if (!results.hasNext()) {
+                    return null;
+                }
+                parser = jsonFactory.createParser(results.next().get(new InputStreamHandle()).get());
+                inArray = false;
+            }
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                parser.close();
+                parser = null;
+            } else if (token == JsonToken.START_ARRAY && !inArray) {
+                inArray = true;
+            } else if (token == JsonToken.END_ARRAY && inArray) {
+                inArray = false;
+            } else {
+                return toRow(token);
+            }
+        }
+    }
+
+    private InternalRow toRow(JsonToken token) throws IOException {
+        if (jsonRowDeserializer != null) {
+            return jsonRowDeserializer.deserializeJson(parser);
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return new GenericInternalRow(new Object[]{UTF8String.fromString(parser.getText())});
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return new GenericInternalRow(new Object[]{UTF8String.fromString(writer.toString())});
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (parser != null) {
+            parser.close();
+        }
+    }
+}
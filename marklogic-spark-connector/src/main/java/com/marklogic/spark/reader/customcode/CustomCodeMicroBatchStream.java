@@ -3,55 +3,86 @@
  */
 package com.marklogic.spark.reader.customcode;
 
+import com.marklogic.spark.Options;
 import com.marklogic.spark.Util;
+import com.marklogic.spark.reader.MicroBatchRanges;
 import org.apache.spark.sql.connector.read.InputPartition;
 import org.apache.spark.sql.connector.read.PartitionReaderFactory;
-import org.apache.spark.sql.connector.read.streaming.MicroBatchStream;
-import org.apache.spark.sql.connector.read.streaming.Offset;
-import org.apache.spark.sql.execution.streaming.LongOffset;
+import org.apache.spark.sql.connector.read.streaming.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
-class CustomCodeMicroBatchStream implements MicroBatchStream {
+/**
+ * Interprets a "micro batch" as one or more user-defined partitions, with the number of partitions read in each micro
+ * batch being controlled via {@code Options.READ_MAX_PARTITIONS_PER_TRIGGER}.
+ * <p>
+ * Within the scope of this class, an offset is equivalent to the number of user-defined partitions that have been
+ * read. So a micro batch with a start offset of 2 and an end offset of 5 reads the partitions at indices 2, 3, and 4,
+ * with each partition being read by a separate partition reader.
+ */
+class CustomCodeMicroBatchStream implements MicroBatchStream, SupportsTriggerAvailableNow {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomCodeMicroBatchStream.class);
 
     private final CustomCodeContext customCodeContext;
     private final List<String> partitions;
-    private long partitionIndex = 0;
+    private final int maxPartitionsPerTrigger;
+
+    private final MicroBatchRanges microBatchRanges;
 
     CustomCodeMicroBatchStream(CustomCodeContext customCodeContext, List<String> partitions) {
         this.customCodeContext = customCodeContext;
         this.partitions = partitions;
+        this.maxPartitionsPerTrigger = customCodeContext.getIntOption(Options.READ_MAX_PARTITIONS_PER_TRIGGER, 1, 1);
+        this.microBatchRanges = new MicroBatchRanges(partitions.size());
     }
 
     /**
-     * Invoked by Spark to get the next offset for which it should construct a reader; an offset for this class is
-     * equivalent to a user-defined partition.
-     *
-     * @return
+     * Partitions are counted as "files" in the default read limit, as Spark does not have a read limit that is more
+     * appropriate for a user-defined partition.
      */
+    @Override
+    public ReadLimit getDefaultReadLimit() {
+        return ReadLimit.maxFiles(maxPartitionsPerTrigger);
+    }
+
+    @Override
+    public void prepareForTriggerAvailableNow() {
+        microBatchRanges.prepareForTriggerAvailableNow();
+    }
+
     @Override
     public Offset latestOffset() {
-        Offset result = partitionIndex >= partitions.size() ? null : new LongOffset(partitionIndex);
-        if (logger.isTraceEnabled()) {
-            logger.trace("Returning latest offset: {}", partitionIndex);
-        }
-        partitionIndex++;
-        return result;
+        throw new UnsupportedOperationException("latestOffset(Offset, ReadLimit) should be called instead of this method.");
+    }
+
+    /**
+     * Invoked by Spark to get the next offset for which it should construct readers; the returned offset is the
+     * number of user-defined partitions that will have been read once the next micro batch completes.
+     */
+    @Override
+    public Offset latestOffset(Offset startOffset, ReadLimit limit) {
+        return microBatchRanges.latestOffset(startOffset, limit);
     }
 
     /**
      * @param start
      * @param end
-     * @return a partition associated with the latest partition, which is captured by the "end" offset.
+     * @return a partition for each user-defined partition between the start offset (inclusive) and the end offset
+     * (exclusive), allowing for the partitions in a micro batch to be read in parallel
      */
     @Override
     public InputPartition[] planInputPartitions(Offset start, Offset end) {
-        long index = ((LongOffset) end).offset();
-        return new InputPartition[]{new CustomCodePartition(partitions.get((int) index))};
+        final int[] range = microBatchRanges.getIndexRange(start, end);
+        final int startIndex = range[0];
+        final int endIndex = range[1];
+        InputPartition[] inputPartitions = new InputPartition[endIndex - startIndex];
+        for (int i = startIndex; i < endIndex; i++) {
+            inputPartitions[i - startIndex] = new CustomCodePartition(partitions.get(i));
+        }
+        return inputPartitions;
     }
 
     @Override
@@ -61,12 +92,12 @@ class CustomCodeMicroBatchStream implements MicroBatchStream {
 
     @Override
     public Offset initialOffset() {
-        return new LongOffset(0);
+        return microBatchRanges.initialOffset();
     }
 
     @Override
     public Offset deserializeOffset(String json) {
-        return new LongOffset(Long.parseLong(json));
+        return microBatchRanges.deserializeOffset(json);
     }
 
     @Override
@@ -14,12 +14,16 @@ import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
 import org.apache.spark.sql.connector.read.PartitionReader;
 import org.apache.spark.unsafe.types.UTF8String;
 
+import java.io.IOException;
+
 class CustomCodePartitionReader implements PartitionReader<InternalRow> {
 
     private final ServerEvaluationCall serverEvaluationCall;
     private final boolean isCustomSchema;
+    private final boolean batchedResults;
 
     private EvalResultIterator evalResultIterator;
+    private BatchedResultRowIterator batchedRows;
     private final JsonRowDeserializer jsonRowDeserializer;
     private final DatabaseClient databaseClient;
 
@@ -43,32 +47,48 @@ class CustomCodePartitionReader implements PartitionReader<InternalRow> {
 
         this.isCustomSchema = customCodeContext.isCustomSchema();
         this.jsonRowDeserializer = new JsonRowDeserializer(customCodeContext.getSchema());
+        this.batchedResults = customCodeContext.getBooleanOption(Options.READ_BATCHED_RESULTS, false);
     }
 
     @Override
     public boolean next() {
         if (this.evalResultIterator == null) {
             this.evalResultIterator = this.serverEvaluationCall.eval();
+            if (this.batchedResults) {
+                this.batchedRows = new BatchedResultRowIterator(this.evalResultIterator,
+                    this.isCustomSchema ? this.jsonRowDeserializer : null);
+            }
         }
-        return this.evalResultIterator.hasNext();
+        return this.batchedRows != null ? this.batchedRows.hasNext() : this.evalResultIterator.hasNext();
     }
 
     @Override
     public InternalRow get() {
+        if (this.batchedRows != null) {
+            logProgress();
+            return this.batchedRows.next();
+        }
         String val = this.evalResultIterator.next().getString();
         if (this.isCustomSchema) {
             return this.jsonRowDeserializer.deserializeJson(val);
         }
+        logProgress();
+        return new GenericInternalRow(new Object[]{UTF8String.fromString(val)});
+    }
+
+    private void logProgress() {
         progressCounter++;
         if (progressCounter >= batchSize) {
             ReadProgressLogger.logProgressIfNecessary(progressCounter);
             progressCounter = 0;
         }
-        return new GenericInternalRow(new Object[]{UTF8String.fromString(val)});
     }
 
     @Override
-    public void close() {
+    public void close() throws IOException {
+        if (this.batchedRows != null) {
+            this.batchedRows.close();
+        }
         if (this.evalResultIterator != null) {
             this.evalResultIterator.close();
         }
@@ -4,6 +4,7 @@
 package com.marklogic.spark.reader.customcode;
 
 import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.datamovement.Forest;
 import com.marklogic.client.eval.EvalResultIterator;
 import com.marklogic.client.eval.ServerEvaluationCall;
 import com.marklogic.spark.ConnectorException;
@@ -40,6 +41,15 @@ class CustomCodeScan implements Scan {
             } finally {
                 client.release();
             }
+        } else if (this.customCodeContext.getBooleanOption(Options.READ_PARTITIONS_FORESTS, false)) {
+            DatabaseClient client = this.customCodeContext.connectToMarkLogic();
+            try {
+                for (Forest forest : client.newDataMovementManager().readForestConfig().listForests()) {
+                    this.partitions.add(forest.getForestId());
+                }
+            } finally {
+                client.release();
+            }
         }
 
         batch = new CustomCodeBatch(customCodeContext, partitions);
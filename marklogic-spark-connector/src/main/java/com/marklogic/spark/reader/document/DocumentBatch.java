@@ -8,6 +8,7 @@ import com.marklogic.client.datamovement.Forest;
 import com.marklogic.client.io.SearchHandle;
 import com.marklogic.client.query.QueryManager;
 import com.marklogic.client.query.SearchQueryDefinition;
+import com.marklogic.spark.Options;
 import com.marklogic.spark.Util;
 import com.marklogic.spark.reader.file.TripleRowSchema;
 import org.apache.spark.sql.connector.read.Batch;
@@ -25,13 +26,23 @@ class DocumentBatch implements Batch {
 
     /**
      * Reuses the DMSDK support for obtaining a list of all eligible forests. A partition reader will then be
-     * created for each partition/forest.
+     * created for each partition/forest. If a count was pushed down, the query estimate is the count and a single
+     * partition is created to return it.
      */
     DocumentBatch(DocumentContext context) {
+        this(context, null);
+    }
+
+    /**
+     * @param context
+     * @param serverTimestamp if not null, the query is run at this point-in-time timestamp instead of the current
+     *                        timestamp. This allows for a micro-batch to be read at the timestamp captured by its end
+     *                        offset, such that the micro-batch can be reconstructed if needed.
+     */
+    DocumentBatch(DocumentContext context, Long serverTimestamp) {
         this.context = context;
 
         DatabaseClient client = this.context.connectToMarkLogic();
-        Forest[] forests = client.newDataMovementManager().readForestConfig().listForests();
 
         SearchQueryDefinition query = TripleRowSchema.SCHEMA.equals(context.getSchema()) ?
             this.context.buildTriplesSearchQuery(client) :
@@ -43,21 +54,72 @@ class DocumentBatch implements Batch {
         QueryManager queryManager = client.newQueryManager();
         queryManager.setPageLength(1);
 
-        SearchHandle handle = queryManager.search(query, new SearchHandle());
+        SearchHandle handle = new SearchHandle();
+        if (serverTimestamp != null) {
+            handle.setPointInTimeQueryTimestamp(serverTimestamp);
+        }
+        queryManager.search(query, handle);
         final long estimate = handle.getTotalResults();
-        final long serverTimestamp = handle.getServerTimestamp();
+        final long queryTimestamp = serverTimestamp != null ? serverTimestamp : handle.getServerTimestamp();
+
+        if (context.isCountPushedDown()) {
+            if (Util.MAIN_LOGGER.isInfoEnabled()) {
+                Util.MAIN_LOGGER.info("Count was pushed down; returning query estimate without reading documents: {}", estimate);
+            }
+            this.partitions = new InputPartition[]{new DocumentCountPartition(estimate)};
+            return;
+        }
 
         if (logger.isDebugEnabled()) {
-            logger.debug("Creating forest partitions; query estimate: {}; server timestamp: {}", estimate, serverTimestamp);
+            logger.debug("Creating forest partitions; query estimate: {}; server timestamp: {}", estimate, queryTimestamp);
+        }
+        Forest[] forests = client.newDataMovementManager().readForestConfig().listForests();
+        ForestPartitionPlanner planner = new ForestPartitionPlanner(context.getPartitionsPerForest(), context.getMaxUrisPerPartition());
+        ForestPartition[] forestPartitions;
+        if (forests.length > 1 && estimate > 0) {
+            long[] forestEstimates = getForestEstimates(client, query, forests, queryTimestamp);
+            forestPartitions = planner.makePartitions(queryTimestamp, forests, forestEstimates, !context.isConsistentSnapshot());
+        } else {
+            forestPartitions = planner.makePartitions(estimate, queryTimestamp, forests);
         }
-        ForestPartitionPlanner planner = new ForestPartitionPlanner(context.getPartitionsPerForest());
-        this.partitions = planner.makePartitions(estimate, serverTimestamp, forests);
+
+        if (context.isDirectConnection() && context.getBooleanOption(Options.READ_DOCUMENTS_BALANCE_HOSTS, false)) {
+            forestPartitions = ForestHostBalancer.balanceHosts(forestPartitions, forests);
+        }
+        this.partitions = forestPartitions;
 
         if (Util.MAIN_LOGGER.isInfoEnabled()) {
             Util.MAIN_LOGGER.info("Created {} partitions; query estimate: {}", partitions.length, estimate);
         }
     }
 
+    /**
+     * Forests are often unbalanced - e.g. after rebalancing or after a forest is retired - so an estimate is obtained
+     * for each forest, allowing for partitions to be sized based on how many matching documents each forest has. The
+     * estimates are only taken at the same server timestamp as the overall estimate when a consistent snapshot is
+     * used; otherwise, each is taken at the current timestamp, and the documents in a forest may change before the
+     * forest is read.
+     */
+    private long[] getForestEstimates(DatabaseClient client, SearchQueryDefinition query, Forest[] forests, long serverTimestamp) {
+        QueryManager queryManager = client.newQueryManager();
+        queryManager.setPageLength(1);
+        long[] forestEstimates = new long[forests.length];
+        for (int i = 0; i < forests.length; i++) {
+            SearchHandle handle = new SearchHandle();
+            if (context.isConsistentSnapshot()) {
+                handle.setPointInTimeQueryTimestamp(serverTimestamp);
+            }
+            queryManager.search(query, handle, forests[i].getForestName());
+            forestEstimates[i] = handle.getTotalResults();
+        }
+        if (logger.isDebugEnabled()) {
+            for (int i = 0; i < forests.length; i++) {
+                logger.debug("Query estimate for forest {}: {}", forests[i].getForestName(), forestEstimates[i]);
+            }
+        }
+        return forestEstimates;
+    }
+
     @Override
     public InputPartition[] planInputPartitions() {
         return this.partitions;
@@ -4,20 +4,32 @@
 package com.marklogic.spark.reader.document;
 
 import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.document.ServerTransform;
 import com.marklogic.client.query.SearchQueryDefinition;
 import com.marklogic.spark.ContextSupport;
 import com.marklogic.spark.Options;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 class DocumentContext extends ContextSupport {
 
     private Integer limit;
+    private boolean countPushedDown;
+    // Null indicates that every column is required.
+    private Set<String> requiredColumns;
     private final StructType schema;
 
+    // Values of Spark filters on triple columns that are pushed down into the Optic plan for reading triples.
+    private String tripleSubject;
+    private String triplePredicate;
+    private String[] tripleGraphs;
+
     DocumentContext(CaseInsensitiveStringMap options, StructType schema) {
         super(options.asCaseSensitiveMap());
         this.schema = schema;
@@ -57,9 +69,36 @@ class DocumentContext extends ContextSupport {
             .withTransformParams(props.get(Options.READ_DOCUMENTS_TRANSFORM_PARAMS))
             .withTransformParamsDelimiter(props.get(Options.READ_DOCUMENTS_TRANSFORM_PARAMS_DELIMITER))
             .withUris(uris)
+            .withModifiedSince(props.get(Options.READ_DOCUMENTS_MODIFIED_SINCE), props.get(Options.READ_DOCUMENTS_MODIFIED_SINCE_INDEX))
             .buildQuery(client);
     }
 
+    /**
+     * @return the REST transform to apply to each document that is read, or null if one was not specified
+     */
+    ServerTransform buildReadTransform() {
+        final Map<String, String> props = getProperties();
+        return SearchQueryBuilder.buildServerTransform(props.get(Options.READ_DOCUMENTS_TRANSFORM),
+            props.get(Options.READ_DOCUMENTS_TRANSFORM_PARAMS), props.get(Options.READ_DOCUMENTS_TRANSFORM_PARAMS_DELIMITER));
+    }
+
+    /**
+     * Used when streaming documents, where each micro-batch reads the documents modified since the previous
+     * micro-batch. A copy is returned so that the context for one micro-batch does not affect any other.
+     *
+     * @param modifiedSince xs:dateTime value; can be null to read all documents matching the user's query
+     * @return
+     */
+    DocumentContext withModifiedSince(String modifiedSince) {
+        Map<String, String> props = new HashMap<>(getProperties());
+        if (modifiedSince != null) {
+            props.put(Options.READ_DOCUMENTS_MODIFIED_SINCE, modifiedSince);
+        }
+        DocumentContext copy = new DocumentContext(new CaseInsensitiveStringMap(props), this.schema);
+        copy.requiredColumns = this.requiredColumns;
+        return copy;
+    }
+
     SearchQueryDefinition buildTriplesSearchQuery(DatabaseClient client) {
         final Map<String, String> props = getProperties();
         String[] uris = null;
@@ -104,6 +143,10 @@ class DocumentContext extends ContextSupport {
         return getIntOption(Options.READ_DOCUMENTS_PARTITIONS_PER_FOREST, defaultPartitionsPerForest, 1);
     }
 
+    long getMaxUrisPerPartition() {
+        return getNumericOption(Options.READ_DOCUMENTS_MAX_URIS_PER_PARTITION, 0, 1);
+    }
+
     boolean isConsistentSnapshot() {
         // Starting in 2.2.0 and through 2.4.2, the default is a consistent snapshot. We may change this later.
         return getBooleanOption(Options.READ_SNAPSHOT, true);
@@ -120,4 +163,47 @@ class DocumentContext extends ContextSupport {
     StructType getSchema() {
         return schema;
     }
+
+    void setRequiredColumns(StructType requiredSchema) {
+        this.requiredColumns = new HashSet<>();
+        for (String fieldName : requiredSchema.fieldNames()) {
+            this.requiredColumns.add(fieldName);
+        }
+    }
+
+    boolean isColumnRequired(String columnName) {
+        return requiredColumns == null || requiredColumns.contains(columnName);
+    }
+
+    String getTripleSubject() {
+        return tripleSubject;
+    }
+
+    void setTripleSubject(String tripleSubject) {
+        this.tripleSubject = tripleSubject;
+    }
+
+    String getTriplePredicate() {
+        return triplePredicate;
+    }
+
+    void setTriplePredicate(String triplePredicate) {
+        this.triplePredicate = triplePredicate;
+    }
+
+    String[] getTripleGraphs() {
+        return tripleGraphs;
+    }
+
+    void setTripleGraphs(String[] tripleGraphs) {
+        this.tripleGraphs = tripleGraphs;
+    }
+
+    void setCountPushedDown(boolean countPushedDown) {
+        this.countPushedDown = countPushedDown;
+    }
+
+    boolean isCountPushedDown() {
+        return countPushedDown;
+    }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import org.apache.spark.sql.connector.read.InputPartition;
+
+/**
+ * Used when a count of documents has been pushed down to MarkLogic. The count is calculated when the partitions are
+ * planned, so the partition only needs to carry it to the reader.
+ */
+class DocumentCountPartition implements InputPartition {
+
+    static final long serialVersionUID = 1;
+
+    private final long count;
+
+    DocumentCountPartition(long count) {
+        this.count = count;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[count: %d]", count);
+    }
+}
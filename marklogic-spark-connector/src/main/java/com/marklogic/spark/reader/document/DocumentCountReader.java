@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.connector.read.PartitionReader;
+
+/**
+ * Returns a single row containing the count of matching documents. No documents are retrieved from MarkLogic.
+ */
+class DocumentCountReader implements PartitionReader<InternalRow> {
+
+    private final long count;
+    private boolean rowReturned;
+
+    DocumentCountReader(DocumentCountPartition partition) {
+        this.count = partition.getCount();
+    }
+
+    @Override
+    public boolean next() {
+        return !rowReturned;
+    }
+
+    @Override
+    public InternalRow get() {
+        rowReturned = true;
+        return new GenericInternalRow(new Object[]{count});
+    }
+
+    @Override
+    public void close() {
+        // Nothing to close.
+    }
+}
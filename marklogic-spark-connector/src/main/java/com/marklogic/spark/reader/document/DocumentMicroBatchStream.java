@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.io.SearchHandle;
+import com.marklogic.client.query.QueryManager;
+import com.marklogic.client.query.SearchQueryDefinition;
+import com.marklogic.spark.Options;
+import com.marklogic.spark.Util;
+import org.apache.spark.sql.connector.read.InputPartition;
+import org.apache.spark.sql.connector.read.PartitionReaderFactory;
+import org.apache.spark.sql.connector.read.streaming.MicroBatchStream;
+import org.apache.spark.sql.connector.read.streaming.Offset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streams documents by using a MarkLogic server timestamp and the server's wall-clock time for it as the offset. Each
+ * micro-batch reads the documents modified since the wall-clock time captured by its start offset, less the overlap
+ * defined by {@code spark.marklogic.read.documents.streamOverlap}, and it does so at the point-in-time timestamp
+ * captured by its end offset. The overlap accounts for a transaction that commits after a micro-batch is read but that
+ * modified its documents before that micro-batch's end offset. Documents may thus be read by more than one
+ * micro-batch. The initial offset results in the first micro-batch reading all documents matching the user's query,
+ * or those modified since the value of {@code spark.marklogic.read.documents.modifiedSince} if it is set.
+ */
+class DocumentMicroBatchStream implements MicroBatchStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentMicroBatchStream.class);
+
+    private final DocumentContext context;
+    private final long overlapMillis;
+
+    // The context for the most recently planned micro-batch, which is used by the reader factory for that micro-batch.
+    private DocumentContext batchContext;
+    private DocumentStreamOffset latestOffset;
+
+    DocumentMicroBatchStream(DocumentContext context) {
+        this.context = context;
+        this.batchContext = context;
+        this.overlapMillis = context.getNumericOption(Options.READ_DOCUMENTS_STREAM_OVERLAP, 30000, 0);
+    }
+
+    /**
+     * Returns an offset for the current server timestamp, unless no transaction has committed since the previously
+     * returned offset or no documents have been modified since it, in which case that offset is returned so that Spark
+     * does not run an empty micro-batch. The overlap is not applied when checking for modified documents, as the
+     * documents modified within the overlap have already been read and would otherwise cause the same documents to be
+     * read again each time any transaction commits. The overlap is only applied when a micro-batch is planned.
+     */
+    @Override
+    public Offset latestOffset() {
+        final DocumentContext queryContext = latestOffset != null ?
+            context.withModifiedSince(latestOffset.getDateTime()) : context;
+
+        DatabaseClient client = queryContext.connectToMarkLogic();
+        try {
+            SearchQueryDefinition query = queryContext.buildSearchQuery(client);
+            query.setResponseTransform(null);
+            QueryManager queryManager = client.newQueryManager();
+            queryManager.setPageLength(1);
+            SearchHandle handle = queryManager.search(query, new SearchHandle());
+            final long serverTimestamp = handle.getServerTimestamp();
+            if (latestOffset != null && (serverTimestamp == latestOffset.getServerTimestamp() || handle.getTotalResults() == 0)) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("No documents modified since offset: {}", latestOffset);
+                }
+                return latestOffset;
+            }
+            latestOffset = new DocumentStreamOffset(serverTimestamp, getWallClockTime(client, serverTimestamp));
+        } finally {
+            client.release();
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Returning latest offset: {}", latestOffset);
+        }
+        return latestOffset;
+    }
+
+    @Override
+    public InputPartition[] planInputPartitions(Offset start, Offset end) {
+        final String modifiedSince = toModifiedSince((DocumentStreamOffset) start);
+        final long endTimestamp = ((DocumentStreamOffset) end).getServerTimestamp();
+
+        if (Util.MAIN_LOGGER.isInfoEnabled()) {
+            Util.MAIN_LOGGER.info("Reading documents modified since: {}; server timestamp: {}", modifiedSince, endTimestamp);
+        }
+        this.batchContext = context.withModifiedSince(modifiedSince);
+        return new DocumentBatch(batchContext, endTimestamp).planInputPartitions();
+    }
+
+    @Override
+    public PartitionReaderFactory createReaderFactory() {
+        return new ForestReaderFactory(this.batchContext);
+    }
+
+    @Override
+    public Offset initialOffset() {
+        return new DocumentStreamOffset(0, null);
+    }
+
+    @Override
+    public Offset deserializeOffset(String json) {
+        return DocumentStreamOffset.fromJson(json);
+    }
+
+    @Override
+    public void commit(Offset end) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Committing offset: {}", end);
+        }
+    }
+
+    @Override
+    public void stop() {
+        Util.MAIN_LOGGER.info("Stopping");
+    }
+
+    /**
+     * @return the dateTime to use in a modified-since query for a micro-batch starting at the given offset, which is
+     * the offset's wall-clock time less the overlap; or for the initial offset, the user's modified-since value, which
+     * may be null
+     */
+    private String toModifiedSince(DocumentStreamOffset offset) {
+        if (offset.getDateTime() == null) {
+            return context.getStringOption(Options.READ_DOCUMENTS_MODIFIED_SINCE);
+        }
+        return subtractMillis(offset.getDateTime(), overlapMillis);
+    }
+
+    static String subtractMillis(String dateTime, long millis) {
+        // ISO_OFFSET_DATE_TIME always includes the seconds, which xs:dateTime requires.
+        return OffsetDateTime.parse(dateTime).minusNanos(millis * 1000000).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    /**
+     * A server timestamp is not a measure of time, so the server is asked for the wall-clock time of the timestamp.
+     */
+    private static String getWallClockTime(DatabaseClient client, long serverTimestamp) {
+        return client.newServerEval()
+            .xquery("declare variable $TIMESTAMP external; xdmp:timestamp-to-wallclock(xs:unsignedLong($TIMESTAMP))")
+            .addVariable("TIMESTAMP", Long.toString(serverTimestamp))
+            .evalAs(String.class);
+    }
+}
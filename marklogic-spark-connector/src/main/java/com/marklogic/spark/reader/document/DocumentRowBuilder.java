@@ -9,7 +9,6 @@ import com.marklogic.spark.ConnectorException;
 import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
 import org.apache.spark.sql.catalyst.util.ArrayBasedMapData;
 import org.apache.spark.sql.catalyst.util.ArrayData;
-import org.apache.spark.unsafe.types.ByteArray;
 import org.apache.spark.unsafe.types.UTF8String;
 import org.jdom2.Document;
 import org.jdom2.Element;
@@ -26,15 +25,18 @@ import java.util.*;
  * This has to support two different ways of specifying which metadata to include. {@code ForestReader} needs to
  * capture the requested metadata in one way, while other approaches can just capture the metadata categories as a
  * simple list of strings.
+ * <p>
+ * An instance can be reused for building many rows via {@code reset()}, which {@code ForestReader} does to avoid
+ * allocating a new builder for every document it reads.
  */
 public class DocumentRowBuilder {
 
     private final List<String> metadataCategories;
     private final Set<DocumentManager.Metadata> requestedMetadata;
 
-    // For handling XML document properties
-    private final SAXBuilder saxBuilder;
-    private final XMLOutputter xmlOutputter;
+    // For handling XML document properties; only created when a document has properties.
+    private SAXBuilder saxBuilder;
+    private XMLOutputter xmlOutputter;
     private static final Namespace PROPERTIES_NAMESPACE = Namespace.getNamespace("prop", "http://marklogic.com/xdmp/property");
 
     private String uri;
@@ -43,19 +45,28 @@ public class DocumentRowBuilder {
     private DocumentMetadataHandle metadata;
 
     public DocumentRowBuilder(List<String> metadataCategories) {
-        this.saxBuilder = new SAXBuilder();
-        this.xmlOutputter = new XMLOutputter();
         this.metadataCategories = metadataCategories != null ? metadataCategories : new ArrayList<>();
         this.requestedMetadata = null;
     }
 
     public DocumentRowBuilder(Set<DocumentManager.Metadata> requestedMetadata) {
-        this.saxBuilder = new SAXBuilder();
-        this.xmlOutputter = new XMLOutputter();
         this.requestedMetadata = requestedMetadata;
         this.metadataCategories = null;
     }
 
+    /**
+     * Clears the values captured for the previous row so that this builder can be used to build another row.
+     *
+     * @return
+     */
+    public DocumentRowBuilder reset() {
+        this.uri = null;
+        this.content = null;
+        this.format = null;
+        this.metadata = null;
+        return this;
+    }
+
     public DocumentRowBuilder withUri(String uri) {
         this.uri = uri;
         return this;
@@ -79,7 +90,8 @@ public class DocumentRowBuilder {
     public GenericInternalRow buildRow() {
         Object[] row = new Object[8];
         row[0] = UTF8String.fromString(uri);
-        row[1] = ByteArray.concat(content);
+        // The content array is not copied, as every caller provides an array that is not modified afterward.
+        row[1] = content;
         if (format != null) {
             row[2] = UTF8String.fromString(format);
         }
@@ -174,6 +186,10 @@ public class DocumentRowBuilder {
         if (metadata.getProperties() == null || metadata.getProperties().size() == 0) {
             return;
         }
+        if (this.saxBuilder == null) {
+            this.saxBuilder = new SAXBuilder();
+            this.xmlOutputter = new XMLOutputter();
+        }
         try {
             Document doc = this.saxBuilder.build(new ByteArrayInputStream(metadata.toBuffer()));
             Element properties = doc.getRootElement().getChild("properties", PROPERTIES_NAMESPACE);
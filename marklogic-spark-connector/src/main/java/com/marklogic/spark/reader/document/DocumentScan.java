@@ -3,27 +3,44 @@
  */
 package com.marklogic.spark.reader.document;
 
+import com.marklogic.spark.reader.file.TripleRowSchema;
 import org.apache.spark.sql.connector.read.Batch;
 import org.apache.spark.sql.connector.read.Scan;
+import org.apache.spark.sql.connector.read.streaming.MicroBatchStream;
+import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.StructType;
 
 class DocumentScan implements Scan {
 
-    private final DocumentBatch batch;
+    // "count" is used as the column name as that's what Spark uses when the count is not pushed down.
+    private static final StructType COUNT_SCHEMA = new StructType().add("count", DataTypes.LongType);
+
     private final DocumentContext context;
+    private DocumentBatch batch;
 
     DocumentScan(DocumentContext context) {
         this.context = context;
-        this.batch = new DocumentBatch(context);
     }
 
     @Override
     public StructType readSchema() {
-        return context.getSchema();
+        return context.isCountPushedDown() ? COUNT_SCHEMA : context.getSchema();
     }
 
     @Override
     public Batch toBatch() {
+        // Created lazily so that no query is run when the scan is only used for streaming.
+        if (this.batch == null) {
+            this.batch = new DocumentBatch(context);
+        }
         return this.batch;
     }
+
+    @Override
+    public MicroBatchStream toMicroBatchStream(String checkpointLocation) {
+        if (TripleRowSchema.SCHEMA.equals(context.getSchema())) {
+            return Scan.super.toMicroBatchStream(checkpointLocation);
+        }
+        return new DocumentMicroBatchStream(context);
+    }
 }
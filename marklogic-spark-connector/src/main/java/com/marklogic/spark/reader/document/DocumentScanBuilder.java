@@ -3,16 +3,36 @@
  */
 package com.marklogic.spark.reader.document;
 
+import com.marklogic.spark.Options;
 import com.marklogic.spark.Util;
+import com.marklogic.spark.reader.file.TripleRowSchema;
+import org.apache.spark.sql.connector.expressions.aggregate.Aggregation;
+import org.apache.spark.sql.connector.expressions.aggregate.CountStar;
 import org.apache.spark.sql.connector.read.Scan;
 import org.apache.spark.sql.connector.read.ScanBuilder;
+import org.apache.spark.sql.connector.read.SupportsPushDownAggregates;
+import org.apache.spark.sql.connector.read.SupportsPushDownFilters;
 import org.apache.spark.sql.connector.read.SupportsPushDownLimit;
+import org.apache.spark.sql.connector.read.SupportsPushDownRequiredColumns;
+import org.apache.spark.sql.sources.EqualTo;
+import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.sources.In;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-class DocumentScanBuilder implements ScanBuilder, SupportsPushDownLimit {
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class DocumentScanBuilder implements ScanBuilder, SupportsPushDownLimit, SupportsPushDownAggregates,
+    SupportsPushDownRequiredColumns, SupportsPushDownFilters {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentScanBuilder.class);
 
     private final DocumentContext context;
+    private Filter[] pushedFilters = new Filter[0];
 
     DocumentScanBuilder(CaseInsensitiveStringMap options, StructType schema) {
         this.context = new DocumentContext(options, schema);
@@ -39,4 +59,139 @@ class DocumentScanBuilder implements ScanBuilder, SupportsPushDownLimit {
         // appropriate limit.
         return true;
     }
+
+    /**
+     * Filters on the subject, predicate, and graph columns of triples can be pushed down into the Optic plan for
+     * reading triples. Every filter is still returned so that Spark evaluates it as well, as MarkLogic may compare
+     * IRIs differently than Spark compares strings.
+     *
+     * @param filters
+     * @return
+     */
+    @Override
+    public Filter[] pushFilters(Filter[] filters) {
+        if (!TripleRowSchema.SCHEMA.equals(context.getSchema())) {
+            return filters;
+        }
+        List<Filter> filtersToPush = new ArrayList<>();
+        for (Filter filter : filters) {
+            if (pushDownTripleFilter(filter)) {
+                filtersToPush.add(filter);
+            }
+        }
+        if (logger.isDebugEnabled() && !filtersToPush.isEmpty()) {
+            logger.debug("Pushing down filters on triples: {}", filtersToPush);
+        }
+        this.pushedFilters = filtersToPush.toArray(new Filter[0]);
+        return filters;
+    }
+
+    @Override
+    public Filter[] pushedFilters() {
+        return pushedFilters;
+    }
+
+    /**
+     * Only the first filter on each column is pushed down. A filter on the graph column is not pushed down when a
+     * base IRI is defined, as the graph values seen by Spark may then differ from those stored in MarkLogic.
+     */
+    private boolean pushDownTripleFilter(Filter filter) {
+        if (filter instanceof EqualTo && ((EqualTo) filter).value() instanceof String) {
+            final String value = (String) ((EqualTo) filter).value();
+            switch (((EqualTo) filter).attribute()) {
+                case "subject":
+                    if (context.getTripleSubject() == null) {
+                        context.setTripleSubject(value);
+                        return true;
+                    }
+                    return false;
+                case "predicate":
+                    if (context.getTriplePredicate() == null) {
+                        context.setTriplePredicate(value);
+                        return true;
+                    }
+                    return false;
+                case "graph":
+                    return pushDownGraphs(new Object[]{value});
+                default:
+                    return false;
+            }
+        }
+        return filter instanceof In && "graph".equals(((In) filter).attribute()) && pushDownGraphs(((In) filter).values());
+    }
+
+    private boolean pushDownGraphs(Object[] values) {
+        if (context.getTripleGraphs() != null || context.hasOption(Options.READ_TRIPLES_BASE_IRI)) {
+            return false;
+        }
+        String[] graphs = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (!(values[i] instanceof String)) {
+                return false;
+            }
+            graphs[i] = (String) values[i];
+        }
+        context.setTripleGraphs(graphs);
+        return true;
+    }
+
+    /**
+     * The schema is not actually pruned, as every row still conforms to {@code DocumentRowSchema} or
+     * {@code TripleRowSchema}. Instead, the required columns are captured so that a reader can avoid the cost of
+     * populating a column - such as serializing document properties or computing the datatype of a triple - that
+     * Spark will not use.
+     *
+     * @param requiredSchema
+     */
+    @Override
+    public void pruneColumns(StructType requiredSchema) {
+        if (DocumentRowSchema.SCHEMA.equals(context.getSchema()) || TripleRowSchema.SCHEMA.equals(context.getSchema())) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Required columns: {}", Arrays.asList(requiredSchema.fieldNames()));
+            }
+            this.context.setRequiredColumns(requiredSchema);
+        }
+    }
+
+    /**
+     * Only a count of all matching documents - e.g. via {@code count()} on a Dataset - can be pushed down. The count
+     * is then answered by the query estimate that is already obtained when partitions are planned, and thus no
+     * documents are retrieved from MarkLogic.
+     *
+     * @param aggregation
+     * @return
+     */
+    @Override
+    public boolean supportCompletePushDown(Aggregation aggregation) {
+        return canPushDownCount(aggregation);
+    }
+
+    @Override
+    public boolean pushAggregation(Aggregation aggregation) {
+        if (!canPushDownCount(aggregation)) {
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Pushing down count of documents: {}", Arrays.asList(aggregation.aggregateExpressions()));
+        }
+        this.context.setCountPushedDown(true);
+        return true;
+    }
+
+    /**
+     * A filtered search is excluded, as the estimate returned by MarkLogic is based solely on indexes and thus may
+     * differ from the number of documents that a filtered search would return. Any grouping is excluded as well, as a
+     * grouping in Spark on e.g. the collections column is based on the entire array of collections and cannot be
+     * answered via a lexicon.
+     */
+    private boolean canPushDownCount(Aggregation aggregation) {
+        if ("false".equalsIgnoreCase(context.getStringOption(Options.READ_PUSH_DOWN_AGGREGATES))
+            || TripleRowSchema.SCHEMA.equals(context.getSchema())
+            || context.getBooleanOption(Options.READ_DOCUMENTS_FILTERED, false)) {
+            return false;
+        }
+        return aggregation.groupByExpressions().length == 0
+            && aggregation.aggregateExpressions().length == 1
+            && aggregation.aggregateExpressions()[0] instanceof CountStar;
+    }
 }
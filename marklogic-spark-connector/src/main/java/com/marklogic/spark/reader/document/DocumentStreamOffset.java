@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.marklogic.spark.ConnectorException;
+import org.apache.spark.sql.connector.read.streaming.Offset;
+
+/**
+ * Offset for streaming documents, consisting of a MarkLogic server timestamp and the server's wall-clock time for that
+ * timestamp. A server timestamp is not a measure of time and thus cannot be converted into a dateTime by the
+ * connector; the server is instead asked for the wall-clock time of the timestamp so that the offset can be used in a
+ * modified-since query.
+ */
+class DocumentStreamOffset extends Offset {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final long serverTimestamp;
+    private final String dateTime;
+
+    DocumentStreamOffset(long serverTimestamp, String dateTime) {
+        this.serverTimestamp = serverTimestamp;
+        this.dateTime = dateTime;
+    }
+
+    static DocumentStreamOffset fromJson(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (!node.isObject() || !node.has("serverTimestamp")) {
+                throw new ConnectorException(String.format("Unsupported offset for streaming documents: %s; " +
+                    "please start the stream with a new checkpoint location.", json));
+            }
+            return new DocumentStreamOffset(
+                node.get("serverTimestamp").asLong(),
+                node.hasNonNull("dateTime") ? node.get("dateTime").asText() : null
+            );
+        } catch (JsonProcessingException e) {
+            throw new ConnectorException(String.format("Unable to read offset for streaming documents: %s; cause: %s",
+                json, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public String json() {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("serverTimestamp", serverTimestamp);
+        if (dateTime != null) {
+            node.put("dateTime", dateTime);
+        }
+        return node.toString();
+    }
+
+    long getServerTimestamp() {
+        return serverTimestamp;
+    }
+
+    /**
+     * @return the server's wall-clock time for the server timestamp, or null for the initial offset
+     */
+    String getDateTime() {
+        return dateTime;
+    }
+}
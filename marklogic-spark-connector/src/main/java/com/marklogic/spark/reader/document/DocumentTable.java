@@ -25,6 +25,7 @@ public class DocumentTable implements SupportsRead, SupportsWrite {
     static {
         capabilities = new HashSet<>();
         capabilities.add(TableCapability.BATCH_READ);
+        capabilities.add(TableCapability.MICRO_BATCH_READ);
         capabilities.add(TableCapability.BATCH_WRITE);
     }
 
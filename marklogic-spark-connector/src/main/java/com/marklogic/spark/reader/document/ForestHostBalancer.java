@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.marklogic.client.datamovement.Forest;
+
+import java.util.*;
+
+/**
+ * Used with a direct connection to spread partitions evenly across the hosts in a cluster. A MarkLogic host can
+ * evaluate a request against any forest in the cluster, so a partition can be read via any available host, and a
+ * consistent snapshot is still ensured via the partition's server timestamp. A partition is kept on the host of its
+ * forest whenever that host has not yet been assigned its share of partitions, thus minimizing requests that must be
+ * forwarded to another host.
+ */
+class ForestHostBalancer {
+
+    private ForestHostBalancer() {
+    }
+
+    static ForestPartition[] balanceHosts(ForestPartition[] partitions, Forest[] forests) {
+        final List<String> hosts = getAvailableHosts(partitions, forests);
+        if (hosts.size() < 2 || partitions.length < 2) {
+            return partitions;
+        }
+
+        final int maxPartitionsPerHost = (int) Math.ceil((double) partitions.length / hosts.size());
+        final Map<String, Integer> partitionCounts = new HashMap<>();
+        hosts.forEach(host -> partitionCounts.put(host, 0));
+
+        final ForestPartition[] balancedPartitions = new ForestPartition[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            String host = partitions[i].getHost();
+            if (partitionCounts.containsKey(host) && partitionCounts.get(host) < maxPartitionsPerHost) {
+                balancedPartitions[i] = partitions[i];
+                partitionCounts.merge(host, 1, Integer::sum);
+            }
+        }
+
+        for (int i = 0; i < partitions.length; i++) {
+            if (balancedPartitions[i] == null) {
+                String host = getLeastUsedHost(hosts, partitionCounts);
+                balancedPartitions[i] = partitions[i].withHost(host);
+                partitionCounts.merge(host, 1, Integer::sum);
+            }
+        }
+        return balancedPartitions;
+    }
+
+    /**
+     * The host of a forest that has failed over to a replica is assumed to be unavailable and is thus not used.
+     */
+    private static List<String> getAvailableHosts(ForestPartition[] partitions, Forest[] forests) {
+        Set<String> unavailableHosts = new HashSet<>();
+        Set<String> hosts = new LinkedHashSet<>();
+        for (ForestPartition partition : partitions) {
+            hosts.add(partition.getHost());
+        }
+        for (Forest forest : forests) {
+            if (isNotEmpty(forest.getOpenReplicaHost())) {
+                hosts.add(forest.getOpenReplicaHost());
+                unavailableHosts.add(forest.getHost());
+            } else if (isNotEmpty(forest.getHost())) {
+                hosts.add(forest.getHost());
+            }
+        }
+        hosts.removeAll(unavailableHosts);
+        hosts.remove(null);
+        return new ArrayList<>(hosts);
+    }
+
+    private static String getLeastUsedHost(List<String> hosts, Map<String, Integer> partitionCounts) {
+        String leastUsedHost = hosts.get(0);
+        for (String host : hosts) {
+            if (partitionCounts.get(host) < partitionCounts.get(leastUsedHost)) {
+                leastUsedHost = host;
+            }
+        }
+        return leastUsedHost;
+    }
+
+    private static boolean isNotEmpty(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -17,13 +17,29 @@ class ForestPartition implements InputPartition {
     private final Long offsetEnd;
 
     ForestPartition(Forest forest, long serverTimestamp, Long offsetStart, Long offsetEnd) {
-        this.forestName = forest.getForestName();
-        this.host = forest.getHost();
+        // If a forest has failed over to a replica, the forest's primary host is likely unavailable.
+        this(forest.getForestName(),
+            forest.getOpenReplicaHost() != null && !forest.getOpenReplicaHost().trim().isEmpty() ?
+                forest.getOpenReplicaHost() : forest.getHost(),
+            serverTimestamp, offsetStart, offsetEnd);
+    }
+
+    private ForestPartition(String forestName, String host, long serverTimestamp, Long offsetStart, Long offsetEnd) {
+        this.forestName = forestName;
+        this.host = host;
         this.serverTimestamp = serverTimestamp;
         this.offsetStart = offsetStart;
         this.offsetEnd = offsetEnd;
     }
 
+    /**
+     * @param host
+     * @return a copy of this partition that will be read via the given host when a direct connection is used
+     */
+    ForestPartition withHost(String host) {
+        return new ForestPartition(forestName, host, serverTimestamp, offsetStart, offsetEnd);
+    }
+
     String getForestName() {
         return forestName;
     }
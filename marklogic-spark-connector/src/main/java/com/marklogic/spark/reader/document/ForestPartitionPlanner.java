@@ -7,34 +7,138 @@ import com.marklogic.client.datamovement.Forest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 class ForestPartitionPlanner {
 
     private final int partitionsPerForest;
+    private final long maxUrisPerPartition;
 
     ForestPartitionPlanner(int partitionsPerForest) {
+        this(partitionsPerForest, 0);
+    }
+
+    /**
+     * @param partitionsPerForest
+     * @param maxUrisPerPartition if greater than zero, a forest will be given additional partitions as needed so that
+     *                            no partition has more than this number of URIs. Spark will then assign the many small
+     *                            partitions to executors as they become idle, such that a single long-running
+     *                            partition does not hold up the completion of a stage.
+     */
+    ForestPartitionPlanner(int partitionsPerForest, long maxUrisPerPartition) {
         this.partitionsPerForest = partitionsPerForest;
+        this.maxUrisPerPartition = maxUrisPerPartition;
     }
 
+    /**
+     * Assumes that matching documents are evenly distributed across the given forests.
+     */
     ForestPartition[] makePartitions(long estimate, long serverTimestamp, Forest... forests) {
         final long urisPerForest = (long) (Math.ceil((double) estimate / forests.length));
-        final long urisPerPartition = (long) (Math.ceil((double) urisPerForest / partitionsPerForest));
+        List<ForestPartition> partitions = new ArrayList<>();
+        for (Forest forest : forests) {
+            addPartitionsForForest(partitions, forest, serverTimestamp, urisPerForest, partitionsPerForest, estimate);
+        }
+        return partitions.toArray(new ForestPartition[]{});
+    }
+
+    /**
+     * Uses an estimate of matching documents for each forest, as forests are often unbalanced. The total number of
+     * partitions - i.e. partitions per forest times the number of forests with at least one matching document - is
+     * allocated to each forest in proportion to its share of matching documents, with every such forest receiving at
+     * least one partition. The partitions for a forest are then sized based on that forest's estimate.
+     *
+     * @param serverTimestamp
+     * @param forests
+     * @param forestEstimates the estimate for each forest, in the same order as the forests
+     * @return
+     */
+    ForestPartition[] makePartitions(long serverTimestamp, Forest[] forests, long[] forestEstimates) {
+        return makePartitions(serverTimestamp, forests, forestEstimates, false);
+    }
 
+    /**
+     * @param includeEmptyForests if true, a forest with no matching documents still gets a single partition with no
+     *                            end offset. This is needed when documents are not read at the timestamp of the
+     *                            estimates, as documents may be added to such a forest before it is read.
+     */
+    ForestPartition[] makePartitions(long serverTimestamp, Forest[] forests, long[] forestEstimates, boolean includeEmptyForests) {
+        final int[] partitionCounts = allocatePartitionsToForests(forestEstimates);
         List<ForestPartition> partitions = new ArrayList<>();
         for (int i = 0; i < forests.length; i++) {
-            Forest forest = forests[i];
-            long offset = 1;
-            for (int j = 0; j < partitionsPerForest; j++) {
-                // If the offset for this forest exceeds the estimate across all forests, then the user has asked for
-                // too many partitions. Any subsequent partition will not return any results, so we stop creating partitions.
-                if (offset > estimate) {
-                    break;
-                }
-                Long offsetEnd = j < (partitionsPerForest - 1) ? (urisPerPartition + offset - 1) : null;
-                partitions.add(new ForestPartition(forest, serverTimestamp, offset, offsetEnd));
-                offset += urisPerPartition;
+            if (partitionCounts[i] > 0) {
+                addPartitionsForForest(partitions, forests[i], serverTimestamp, forestEstimates[i], partitionCounts[i], forestEstimates[i]);
+            } else if (includeEmptyForests) {
+                partitions.add(new ForestPartition(forests[i], serverTimestamp, 1L, null));
             }
         }
         return partitions.toArray(new ForestPartition[]{});
     }
+
+    private void addPartitionsForForest(List<ForestPartition> partitions, Forest forest, long serverTimestamp,
+                                        long urisPerForest, int minimumPartitionCount, long maxOffset) {
+        final int partitionCount = applyMaxUrisPerPartition(urisPerForest, minimumPartitionCount);
+        final long urisPerPartition = (long) (Math.ceil((double) urisPerForest / partitionCount));
+        long offset = 1;
+        for (int j = 0; j < partitionCount; j++) {
+            // If the offset for this forest exceeds the max offset, then the user has asked for too many partitions.
+            // Any subsequent partition will not return any results, so we stop creating partitions.
+            if (offset > maxOffset) {
+                break;
+            }
+            Long offsetEnd = j < (partitionCount - 1) ? (urisPerPartition + offset - 1) : null;
+            partitions.add(new ForestPartition(forest, serverTimestamp, offset, offsetEnd));
+            offset += urisPerPartition;
+        }
+    }
+
+    private int applyMaxUrisPerPartition(long urisPerForest, int partitionCount) {
+        if (maxUrisPerPartition < 1) {
+            return partitionCount;
+        }
+        long required = (long) Math.ceil((double) urisPerForest / maxUrisPerPartition);
+        return (int) Math.max(partitionCount, Math.min(required, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Uses the "largest remainder" approach so that the sum of the partition counts matches the total number of
+     * partitions, unless forests with a very small share of documents force that total to be exceeded by requiring
+     * at least one partition.
+     */
+    private int[] allocatePartitionsToForests(long[] forestEstimates) {
+        final long totalEstimate = LongStream.of(forestEstimates).sum();
+        final int[] partitionCounts = new int[forestEstimates.length];
+        if (totalEstimate < 1) {
+            return partitionCounts;
+        }
+
+        final long forestsWithDocuments = LongStream.of(forestEstimates).filter(estimate -> estimate > 0).count();
+        final long totalPartitions = forestsWithDocuments * partitionsPerForest;
+        final double[] remainders = new double[forestEstimates.length];
+        long allocated = 0;
+        for (int i = 0; i < forestEstimates.length; i++) {
+            if (forestEstimates[i] > 0) {
+                double share = (double) totalPartitions * forestEstimates[i] / totalEstimate;
+                partitionCounts[i] = Math.max(1, (int) Math.floor(share));
+                remainders[i] = share - Math.floor(share);
+                allocated += partitionCounts[i];
+            }
+        }
+
+        while (allocated < totalPartitions) {
+            int next = 0;
+            for (int i = 1; i < remainders.length; i++) {
+                if (remainders[i] > remainders[next]) {
+                    next = i;
+                }
+            }
+            if (remainders[next] <= 0) {
+                break;
+            }
+            partitionCounts[next]++;
+            remainders[next] = 0;
+            allocated++;
+        }
+        return partitionCounts;
+    }
 }
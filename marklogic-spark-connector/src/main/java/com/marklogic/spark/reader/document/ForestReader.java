@@ -23,7 +23,10 @@ import org.apache.spark.sql.connector.read.PartitionReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -41,7 +44,12 @@ class ForestReader implements PartitionReader<InternalRow> {
     private final GenericDocumentManager documentManager;
     private final StructuredQueryBuilder queryBuilder;
     private final Set<DocumentManager.Metadata> requestedMetadata;
-    private final boolean contentWasRequested;
+    private final boolean includeContent;
+    private final boolean includeFormat;
+
+    // Reused for every document to minimize allocations when reading many small documents.
+    private final DocumentRowBuilder rowBuilder;
+    private final BytesHandle contentHandle = new BytesHandle();
     private final Integer limit;
     private final boolean isStreamingFiles;
 
@@ -76,9 +84,12 @@ class ForestReader implements PartitionReader<InternalRow> {
 
         this.documentManager = client.newDocumentManager();
         this.documentManager.setReadTransform(query.getResponseTransform());
-        this.contentWasRequested = context.contentWasRequested();
-        this.requestedMetadata = ContextSupport.getRequestedMetadata(context);
+        final boolean contentWasRequested = context.contentWasRequested();
+        this.includeContent = contentWasRequested && context.isColumnRequired("content");
+        this.includeFormat = contentWasRequested && context.isColumnRequired("format");
+        this.requestedMetadata = getMetadataForRequiredColumns(context);
         this.documentManager.setMetadataCategories(this.requestedMetadata);
+        this.rowBuilder = new DocumentRowBuilder(this.requestedMetadata);
         this.queryBuilder = client.newQueryManager().newStructuredQueryBuilder();
     }
 
@@ -115,11 +126,14 @@ class ForestReader implements PartitionReader<InternalRow> {
     @Override
     public InternalRow get() {
         DocumentRecord document = this.currentDocumentPage.next();
-        DocumentRowBuilder builder = new DocumentRowBuilder(requestedMetadata).withUri(document.getUri());
-        if (this.contentWasRequested) {
-            BytesHandle content = document.getContent(new BytesHandle());
+        DocumentRowBuilder builder = this.rowBuilder.reset().withUri(document.getUri());
+        if (this.includeContent) {
+            BytesHandle content = document.getContent(this.contentHandle);
             Objects.requireNonNull(content);
+            // Each call to getContent results in a new array in the handle, so the array can be used in the row.
             builder.withContent(content.get());
+        }
+        if (this.includeFormat) {
             builder.withFormat(document.getFormat() != null ? document.getFormat().toString() : Format.UNKNOWN.toString());
         }
         if (!requestedMetadata.isEmpty()) {
@@ -134,6 +148,33 @@ class ForestReader implements PartitionReader<InternalRow> {
         closeCurrentDocumentPage();
     }
 
+    /**
+     * Excludes any requested metadata category whose column is not required by Spark, which avoids both retrieving
+     * that metadata from MarkLogic and populating its column.
+     */
+    private static Set<DocumentManager.Metadata> getMetadataForRequiredColumns(DocumentContext context) {
+        final Set<DocumentManager.Metadata> requestedMetadata = ContextSupport.getRequestedMetadata(context);
+        final Map<DocumentManager.Metadata, String> metadataColumns = new EnumMap<>(DocumentManager.Metadata.class);
+        metadataColumns.put(DocumentManager.Metadata.COLLECTIONS, "collections");
+        metadataColumns.put(DocumentManager.Metadata.PERMISSIONS, "permissions");
+        metadataColumns.put(DocumentManager.Metadata.QUALITY, "quality");
+        metadataColumns.put(DocumentManager.Metadata.PROPERTIES, "properties");
+        metadataColumns.put(DocumentManager.Metadata.METADATAVALUES, "metadataValues");
+
+        if (metadataColumns.values().stream().allMatch(context::isColumnRequired)) {
+            return requestedMetadata;
+        }
+
+        final boolean allRequested = requestedMetadata.contains(DocumentManager.Metadata.ALL);
+        Set<DocumentManager.Metadata> metadata = new HashSet<>();
+        metadataColumns.forEach((category, columnName) -> {
+            if ((allRequested || requestedMetadata.contains(category)) && context.isColumnRequired(columnName)) {
+                metadata.add(category);
+            }
+        });
+        return metadata;
+    }
+
     private List<String> getNextBatchOfUris() {
         long start = System.currentTimeMillis();
         List<String> uris = uriBatcher.nextBatchOfUris();
@@ -21,6 +21,9 @@ class ForestReaderFactory implements PartitionReaderFactory {
 
     @Override
     public PartitionReader<InternalRow> createReader(InputPartition partition) {
+        if (partition instanceof DocumentCountPartition) {
+            return new DocumentCountReader((DocumentCountPartition) partition);
+        }
         return TripleRowSchema.SCHEMA.equals(documentContext.getSchema()) ?
             new OpticTriplesReader((ForestPartition) partition, documentContext) :
             new ForestReader((ForestPartition) partition, documentContext);
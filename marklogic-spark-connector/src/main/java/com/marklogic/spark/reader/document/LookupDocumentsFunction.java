@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.marklogic.client.DatabaseClient;
+import com.marklogic.client.document.DocumentManager;
+import com.marklogic.client.document.DocumentPage;
+import com.marklogic.client.document.DocumentRecord;
+import com.marklogic.client.document.GenericDocumentManager;
+import com.marklogic.client.io.BytesHandle;
+import com.marklogic.client.io.DocumentMetadataHandle;
+import com.marklogic.client.io.Format;
+import com.marklogic.client.query.StructuredQueryBuilder;
+import com.marklogic.spark.ContextSupport;
+import org.apache.commons.io.IOUtils;
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.function.MapPartitionsFunction;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.catalyst.CatalystTypeConverters;
+import org.apache.spark.sql.util.CaseInsensitiveStringMap;
+import org.apache.spark.util.TaskCompletionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Function1;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Supports looking up documents by URI when the URIs are in a Spark Dataset, such that each Spark partition of URIs
+ * will retrieve its documents from MarkLogic in batches. This avoids the need to put a potentially very large number
+ * of URIs into the {@code spark.marklogic.read.documents.uris} option. Example usage:
+ * <pre>
+ * Dataset&lt;Row&gt; documents = urisDataset.mapPartitions(
+ *     new LookupDocumentsFunction(options), Encoders.row(DocumentRowSchema.SCHEMA));
+ * </pre>
+ * The URI is expected to be in the first column of each row. The returned rows conform to {@code DocumentRowSchema}.
+ * The same connection options used when reading documents can be provided, along with
+ * {@code spark.marklogic.read.documents.categories}, {@code spark.marklogic.read.documents.transform} and its
+ * associated options, and {@code spark.marklogic.read.batchSize} for controlling how many URIs are sent in each
+ * request to MarkLogic.
+ * <p>
+ * As this operates on each Spark partition independently, no shuffle is required; the caller can control how URIs are
+ * grouped into partitions - e.g. by forest - before invoking this.
+ *
+ * @since 2.6.0
+ */
+public class LookupDocumentsFunction implements MapPartitionsFunction<Row, Row> {
+
+    static final long serialVersionUID = 1;
+
+    // Used solely for testing purposes; is never expected to be used in production. Is invoked when a partition's
+    // client is released, with a value of true if every URI in the partition was read before the release occurred.
+    static Consumer<Boolean> clientReleasedListener;
+
+    private final HashMap<String, String> options;
+
+    public LookupDocumentsFunction(Map<String, String> options) {
+        this.options = new HashMap<>(options);
+    }
+
+    @Override
+    public Iterator<Row> call(Iterator<Row> uriRows) {
+        DocumentContext context = new DocumentContext(new CaseInsensitiveStringMap(options), DocumentRowSchema.SCHEMA);
+        return new LookupIterator(context, uriRows);
+    }
+
+    private static class LookupIterator implements Iterator<Row> {
+
+        private static final Logger logger = LoggerFactory.getLogger(LookupDocumentsFunction.class);
+
+        private final Iterator<Row> uriRows;
+        private final int batchSize;
+        private final DatabaseClient client;
+        private final GenericDocumentManager documentManager;
+        private final StructuredQueryBuilder queryBuilder;
+        private final Set<DocumentManager.Metadata> requestedMetadata;
+        private final boolean contentWasRequested;
+        private final DocumentRowBuilder rowBuilder;
+        private final Function1<Object, Object> rowConverter;
+
+        private DocumentPage currentDocumentPage;
+        private boolean allUrisRead;
+        private boolean released;
+
+        LookupIterator(DocumentContext context, Iterator<Row> uriRows) {
+            this.uriRows = uriRows;
+            this.batchSize = context.getBatchSize();
+            this.client = context.connectToMarkLogic();
+            // Ensures the client is released if the task fails or stops consuming rows before the last row.
+            TaskContext taskContext = TaskContext.get();
+            if (taskContext != null) {
+                taskContext.addTaskCompletionListener((TaskCompletionListener) completedContext -> release());
+            }
+            this.documentManager = client.newDocumentManager();
+            this.documentManager.setReadTransform(context.buildReadTransform());
+            this.contentWasRequested = context.contentWasRequested();
+            this.requestedMetadata = ContextSupport.getRequestedMetadata(context);
+            this.documentManager.setMetadataCategories(this.requestedMetadata);
+            this.queryBuilder = client.newQueryManager().newStructuredQueryBuilder();
+            this.rowBuilder = new DocumentRowBuilder(this.requestedMetadata);
+            this.rowConverter = CatalystTypeConverters.createToScalaConverter(DocumentRowSchema.SCHEMA);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (currentDocumentPage == null || !currentDocumentPage.hasNext()) {
+                closeCurrentDocumentPage();
+                List<String> uris = nextBatchOfUris();
+                if (uris.isEmpty()) {
+                    allUrisRead = true;
+                    release();
+                    return false;
+                }
+                this.currentDocumentPage = readPage(uris);
+            }
+            return true;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DocumentRecord document = currentDocumentPage.next();
+            DocumentRowBuilder builder = rowBuilder.reset().withUri(document.getUri());
+            if (contentWasRequested) {
+                BytesHandle content = document.getContent(new BytesHandle());
+                Objects.requireNonNull(content);
+                builder.withContent(content.get());
+                builder.withFormat(document.getFormat() != null ? document.getFormat().toString() : Format.UNKNOWN.toString());
+            }
+            if (!requestedMetadata.isEmpty()) {
+                builder.withMetadata(document.getMetadata(new DocumentMetadataHandle()));
+            }
+            return (Row) rowConverter.apply(builder.buildRow());
+        }
+
+        private List<String> nextBatchOfUris() {
+            List<String> uris = new ArrayList<>();
+            while (uris.size() < batchSize && uriRows.hasNext()) {
+                Row row = uriRows.next();
+                if (!row.isNullAt(0)) {
+                    uris.add(row.getString(0));
+                }
+            }
+            return uris;
+        }
+
+        private DocumentPage readPage(List<String> uris) {
+            long start = System.currentTimeMillis();
+            String[] uriArray = uris.toArray(new String[]{});
+            this.documentManager.setPageLength(uriArray.length);
+            // As with ForestReader, a search is used so that a POST is sent instead of a GET, which avoids a
+            // Request-URI error when many URIs are included.
+            DocumentPage page = this.documentManager.search(this.queryBuilder.document(uriArray), 0);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Retrieved page of documents for {} URIs in {}ms", uriArray.length, System.currentTimeMillis() - start);
+            }
+            return page;
+        }
+
+        private void closeCurrentDocumentPage() {
+            if (currentDocumentPage != null) {
+                IOUtils.closeQuietly(currentDocumentPage);
+                currentDocumentPage = null;
+            }
+        }
+
+        private void release() {
+            if (!released) {
+                closeCurrentDocumentPage();
+                client.release();
+                released = true;
+                if (clientReleasedListener != null) {
+                    clientReleasedListener.accept(allUrisRead);
+                }
+            }
+        }
+    }
+}
@@ -10,6 +10,9 @@ import com.marklogic.client.row.RowManager;
 import com.marklogic.client.row.RowRecord;
 import com.marklogic.client.row.RowSet;
 import com.marklogic.client.type.PlanColumn;
+import com.marklogic.client.type.PlanTriplePattern;
+import com.marklogic.client.type.ServerExpression;
+import com.marklogic.spark.ConnectorException;
 import com.marklogic.spark.Options;
 import com.marklogic.spark.ReadProgressLogger;
 import org.apache.commons.io.IOUtils;
@@ -24,37 +27,63 @@ import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Reads triples from a batch of document URIs via the Optic fromTriples data accessor.
+ * <p>
+ * The parts of the plan that do not depend on the batch of URIs - including the expressions for binding the datatype
+ * and lang columns - are built once. Those columns are only bound when Spark requires them. Spark filters on the
+ * subject, predicate, and graph columns that were pushed down are applied via the triple pattern and a "where" on the
+ * graph column.
  */
 class OpticTriplesReader implements PartitionReader<InternalRow> {
 
     private static final Logger logger = LoggerFactory.getLogger(OpticTriplesReader.class);
 
+    private static final String SUBJECT_COLUMN = "subject";
+    private static final String PREDICATE_COLUMN = "predicate";
     private static final String DATATYPE_COLUMN = "datatype";
+    private static final String LANG_COLUMN = "lang";
     private static final String GRAPH_COLUMN = "graph";
     private static final String OBJECT_COLUMN = "object";
 
     private final UriBatcher uriBatcher;
     private final DatabaseClient databaseClient;
-    private final DocumentContext documentContext;
     private final RowManager rowManager;
     private final PlanBuilder op;
     private final String graphBaseIri;
 
+    // Parts of the plan that are the same for every batch of URIs.
+    private final PlanTriplePattern triplePattern;
+    private final ServerExpression graphsCondition;
+    private final ServerExpression datatypeExpression;
+    private final ServerExpression langExpression;
+
+    // Set when a filter on the subject or predicate column is pushed down, as the column is then not returned by
+    // MarkLogic.
+    private final String subject;
+    private final String predicate;
+
     // Only for logging
     private final long batchSize;
     private long progressCounter;
 
     private RowSet<RowRecord> currentRowSet;
-    private Iterator<RowRecord> currentRowIterator;
+    private Iterator<Object[]> currentRowIterator;
+
+    // Only used when prefetching the next batch of triples.
+    private final ExecutorService executor;
+    private Future<List<Object[]>> nextBatch;
 
     public OpticTriplesReader(ForestPartition forestPartition, DocumentContext context) {
-        this.documentContext = context;
         this.graphBaseIri = context.getStringOption(Options.READ_TRIPLES_BASE_IRI);
         this.databaseClient = context.isDirectConnection() ?
             context.connectToMarkLogic(forestPartition.getHost()) :
@@ -73,26 +102,46 @@ class OpticTriplesReader implements PartitionReader<InternalRow> {
 
         this.uriBatcher = new UriBatcher(this.databaseClient, query, forestPartition, context.getBatchSize(), filtered, consistentSnapshot);
         this.batchSize = context.getBatchSize();
+
+        this.subject = context.getTripleSubject();
+        this.predicate = context.getTriplePredicate();
+        this.triplePattern = op.pattern(
+            subject != null ? op.sem.iri(subject) : op.col(SUBJECT_COLUMN),
+            predicate != null ? op.sem.iri(predicate) : op.col(PREDICATE_COLUMN),
+            op.col(OBJECT_COLUMN),
+            op.graphCol(GRAPH_COLUMN)
+        );
+        this.graphsCondition = buildGraphsCondition(context);
+
+        final boolean langRequired = context.isColumnRequired(LANG_COLUMN);
+        // The lang expression depends on the datatype column, so it must be bound if lang is required.
+        this.datatypeExpression = context.isColumnRequired(DATATYPE_COLUMN) || langRequired ? buildDatatypeExpression() : null;
+        this.langExpression = langRequired ? buildLangExpression() : null;
+
+        if (context.getBooleanOption(Options.READ_TRIPLES_PREFETCH, false)) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "marklogic-triples-prefetch-" + forestPartition.getForestName());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
     }
 
     @Override
     public boolean next() throws IOException {
-        if (currentRowIterator != null && currentRowIterator.hasNext()) {
-            return true;
-        }
         while (currentRowIterator == null || !currentRowIterator.hasNext()) {
-            List<String> uris = uriBatcher.nextBatchOfUris();
-            if (uris.isEmpty()) {
+            if (!readNextBatchOfTriples()) {
                 return false; // End state; no more matching documents were found.
             }
-            readNextBatchOfTriples(uris);
         }
         return true;
     }
 
     @Override
     public InternalRow get() {
-        Object[] row = convertNextTripleIntoRow();
+        Object[] row = currentRowIterator.next();
         progressCounter++;
         if (progressCounter >= batchSize) {
             ReadProgressLogger.logProgressIfNecessary(this.progressCounter);
@@ -104,48 +153,147 @@ class OpticTriplesReader implements PartitionReader<InternalRow> {
     @Override
     public void close() {
         IOUtils.closeQuietly(this.currentRowSet);
+        if (this.executor != null) {
+            if (this.nextBatch != null) {
+                this.nextBatch.cancel(true);
+            }
+            this.executor.shutdownNow();
+        }
     }
 
-    private void readNextBatchOfTriples(@NotNull List<String> uris) {
+    /**
+     * When prefetching, the rows for the current batch have already been read into memory, and the request for the
+     * next batch is made before the current batch is returned to Spark. Otherwise, rows are streamed from the response
+     * for the current batch.
+     *
+     * @return false if there are no more batches of URIs
+     */
+    private boolean readNextBatchOfTriples() {
+        if (executor != null) {
+            if (nextBatch == null) {
+                nextBatch = executor.submit(this::readBatchIntoMemory);
+            }
+            List<Object[]> rows = waitForBatch(nextBatch);
+            if (rows == null) {
+                nextBatch = null;
+                return false;
+            }
+            nextBatch = executor.submit(this::readBatchIntoMemory);
+            currentRowIterator = rows.iterator();
+            return true;
+        }
+
+        List<String> uris = uriBatcher.nextBatchOfUris();
+        if (uris.isEmpty()) {
+            return false;
+        }
+        IOUtils.closeQuietly(this.currentRowSet);
+        this.currentRowSet = rowManager.resultRows(buildPlan(uris));
+        final Iterator<RowRecord> rowRecords = this.currentRowSet.iterator();
+        this.currentRowIterator = new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rowRecords.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return convertTripleIntoRow(rowRecords.next());
+            }
+        };
+        return true;
+    }
+
+    /**
+     * @return the rows for the next batch of URIs, or null if there are no more batches of URIs
+     */
+    private List<Object[]> readBatchIntoMemory() {
+        List<String> uris = uriBatcher.nextBatchOfUris();
+        if (uris.isEmpty()) {
+            return null;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        try (RowSet<RowRecord> rowSet = rowManager.resultRows(buildPlan(uris))) {
+            rowSet.forEach(row -> rows.add(convertTripleIntoRow(row)));
+        }
+        return rows;
+    }
+
+    private List<Object[]> waitForBatch(Future<List<Object[]>> futureBatch) {
+        try {
+            return futureBatch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while waiting for triples from MarkLogic", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ConnectorException(String.format("Unable to read triples; cause: %s", e.getCause().getMessage()), e.getCause());
+        }
+    }
+
+    private PlanBuilder.ModifyPlan buildPlan(@NotNull List<String> uris) {
         PlanBuilder.ModifyPlan plan = op
-            .fromTriples(op.pattern(op.col("subject"), op.col("predicate"), op.col(OBJECT_COLUMN), op.graphCol(GRAPH_COLUMN)))
+            .fromTriples(triplePattern)
             .where(op.cts.documentQuery(op.xs.stringSeq(uris.toArray(new String[0]))));
 
-        if (documentContext.hasOption(Options.READ_TRIPLES_GRAPHS)) {
-            String value = documentContext.getStringOption(Options.READ_TRIPLES_GRAPHS);
-            Objects.requireNonNull(value);
-            String[] graphs = value.split(",");
-            plan = plan.where(op.in(op.col(GRAPH_COLUMN), op.xs.stringSeq(graphs)));
+        if (graphsCondition != null) {
+            plan = plan.where(graphsCondition);
+        }
+        if (datatypeExpression != null) {
+            plan = plan.bindAs(DATATYPE_COLUMN, datatypeExpression);
         }
+        if (langExpression != null) {
+            plan = plan.bindAs(LANG_COLUMN, langExpression);
+        }
+        return plan;
+    }
 
-        plan = bindDatatypeAndLang(plan);
-        this.currentRowSet = rowManager.resultRows(plan);
-        this.currentRowIterator = this.currentRowSet.iterator();
+    /**
+     * Combines the graphs defined by the user via {@code Options.READ_TRIPLES_GRAPHS} with the graphs from a Spark
+     * filter that was pushed down. If both are defined, a triple must be in one of the graphs from each.
+     */
+    private ServerExpression buildGraphsCondition(DocumentContext context) {
+        ServerExpression condition = null;
+        if (context.hasOption(Options.READ_TRIPLES_GRAPHS)) {
+            String value = context.getStringOption(Options.READ_TRIPLES_GRAPHS);
+            Objects.requireNonNull(value);
+            condition = op.in(op.col(GRAPH_COLUMN), op.xs.stringSeq(value.split(",")));
+        }
+        if (context.getTripleGraphs() != null) {
+            ServerExpression filterCondition = op.in(op.col(GRAPH_COLUMN), op.xs.stringSeq(context.getTripleGraphs()));
+            condition = condition != null ? op.and(condition, filterCondition) : filterCondition;
+        }
+        return condition;
     }
 
     /**
      * Ideally, fromTriples would allow for columns to be declared so that datatype and lang could be easily fetched.
      * Instead, we have to bind additional columns to retrieve these values.
      */
-    private PlanBuilder.ModifyPlan bindDatatypeAndLang(PlanBuilder.ModifyPlan plan) {
+    private ServerExpression buildDatatypeExpression() {
         final PlanColumn objectCol = op.col(OBJECT_COLUMN);
-        return plan.bindAs(DATATYPE_COLUMN, op.caseExpr(
+        return op.caseExpr(
             op.when(op.sem.isLiteral(objectCol), op.sem.datatype(objectCol)),
             op.elseExpr(op.sem.iri(op.xs.string("")))
-        )).bindAs("lang", op.caseExpr(
-            op.when(op.eq(op.col(DATATYPE_COLUMN), op.sem.iri("http://www.w3.org/1999/02/22-rdf-syntax-ns#langString")), op.sem.lang(objectCol)),
+        );
+    }
+
+    private ServerExpression buildLangExpression() {
+        return op.caseExpr(
+            op.when(op.eq(op.col(DATATYPE_COLUMN), op.sem.iri("http://www.w3.org/1999/02/22-rdf-syntax-ns#langString")), op.sem.lang(op.col(OBJECT_COLUMN))),
             op.elseExpr(op.xs.string(""))
-        ));
+        );
     }
 
-    private Object[] convertNextTripleIntoRow() {
-        RowRecord row = currentRowIterator.next();
+    private Object[] convertTripleIntoRow(RowRecord row) {
         return new Object[]{
-            getString(row, "subject"),
-            getString(row, "predicate"),
+            subject != null ? UTF8String.fromString(subject) : getString(row, SUBJECT_COLUMN),
+            predicate != null ? UTF8String.fromString(predicate) : getString(row, PREDICATE_COLUMN),
             getString(row, OBJECT_COLUMN),
-            getString(row, DATATYPE_COLUMN),
-            getString(row, "lang"),
+            datatypeExpression != null ? getString(row, DATATYPE_COLUMN) : null,
+            langExpression != null ? getString(row, LANG_COLUMN) : null,
             getGraph(row)
         };
     }
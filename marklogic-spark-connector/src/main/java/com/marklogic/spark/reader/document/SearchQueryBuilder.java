@@ -10,12 +10,16 @@ import com.marklogic.client.io.StringHandle;
 import com.marklogic.client.query.*;
 import com.marklogic.spark.Util;
 
+import javax.xml.namespace.QName;
+
 /**
  * Potentially reusable class for the Java Client that handles constructing a query based on a common
  * set of user-defined inputs.
  */
 public class SearchQueryBuilder {
 
+    private static final QName LAST_MODIFIED = new QName("http://marklogic.com/xdmp/property", "last-modified");
+
     private String stringQuery;
     private String query;
     private String[] collections;
@@ -25,6 +29,8 @@ public class SearchQueryBuilder {
     private String transformParams;
     private String transformParamsDelimiter;
     private String[] uris;
+    private String modifiedSince;
+    private String modifiedSinceIndex;
 
     SearchQueryDefinition buildQuery(DatabaseClient client) {
         QueryDefinition queryDefinition = buildQueryDefinition(client);
@@ -92,11 +98,30 @@ public class SearchQueryBuilder {
         return this;
     }
 
+    /**
+     * Restricts the query to documents modified at or after the given xs:dateTime value.
+     *
+     * @param modifiedSince
+     * @param index         optional name of an element or JSON property with a dateTime range index; if not set, the
+     *                      "last-modified" property of each document is used. A namespaced element can be identified
+     *                      via "{namespace}localName".
+     * @return
+     */
+    public SearchQueryBuilder withModifiedSince(String modifiedSince, String index) {
+        this.modifiedSince = modifiedSince;
+        this.modifiedSinceIndex = index;
+        return this;
+    }
+
     private QueryDefinition buildQueryDefinition(DatabaseClient client) {
         final QueryManager queryManager = client.newQueryManager();
+        final StructuredQueryDefinition modifiedSinceQuery = buildModifiedSinceQuery(queryManager);
 
         if (uris != null && uris.length > 0) {
-            StructuredQueryDefinition urisQuery = queryManager.newStructuredQueryBuilder().document(this.uris);
+            StructuredQueryBuilder queryBuilder = queryManager.newStructuredQueryBuilder();
+            StructuredQueryDefinition urisQuery = modifiedSinceQuery != null ?
+                queryBuilder.and(queryBuilder.document(this.uris), modifiedSinceQuery) :
+                queryBuilder.document(this.uris);
             if (stringQuery != null && !stringQuery.isEmpty()) {
                 urisQuery.withCriteria(stringQuery);
             }
@@ -107,6 +132,12 @@ public class SearchQueryBuilder {
         }
 
         if (query != null) {
+            if (modifiedSinceQuery != null) {
+                // A complex query can be structured, serialized CTS, or combined, and in either JSON or XML, so it
+                // cannot be reliably combined with the modified-since query.
+                throw new IllegalArgumentException("A modified-since constraint cannot be combined with a complex query; " +
+                    "consider using a string query, collections, or a directory instead.");
+            }
             StringHandle queryHandle = new StringHandle(query);
             // v1/search assumes XML by default, so only need to set to JSON if the query is JSON.
             if (queryIsJSON()) {
@@ -122,6 +153,13 @@ public class SearchQueryBuilder {
             return queryDefinition;
         }
 
+        if (modifiedSinceQuery != null) {
+            if (stringQuery != null && !stringQuery.isEmpty()) {
+                modifiedSinceQuery.withCriteria(stringQuery);
+            }
+            return modifiedSinceQuery;
+        }
+
         StringQueryDefinition queryDefinition = queryManager.newStringDefinition();
         if (this.stringQuery != null && !stringQuery.isEmpty()) {
             queryDefinition.setCriteria(this.stringQuery);
@@ -130,6 +168,21 @@ public class SearchQueryBuilder {
         return queryDefinition;
     }
 
+    private StructuredQueryDefinition buildModifiedSinceQuery(QueryManager queryManager) {
+        if (modifiedSince == null || modifiedSince.trim().isEmpty()) {
+            return null;
+        }
+        StructuredQueryBuilder queryBuilder = queryManager.newStructuredQueryBuilder();
+        final String value = modifiedSince.trim();
+        if (modifiedSinceIndex != null && !modifiedSinceIndex.trim().isEmpty()) {
+            return queryBuilder.range(queryBuilder.element(QName.valueOf(modifiedSinceIndex.trim())),
+                "xs:dateTime", StructuredQueryBuilder.Operator.GE, value);
+        }
+        // The last-modified property is stored in the properties fragment of each document.
+        return queryBuilder.properties(queryBuilder.range(queryBuilder.element(LAST_MODIFIED),
+            "xs:dateTime", StructuredQueryBuilder.Operator.GE, value));
+    }
+
     private boolean queryIsJSON() {
         return query != null && query.trim().startsWith("{");
     }
@@ -145,11 +198,17 @@ public class SearchQueryBuilder {
             queryDefinition.setDirectory(directory);
         }
         if (transformName != null && !transformName.trim().isEmpty()) {
-            queryDefinition.setResponseTransform(buildServerTransform());
+            queryDefinition.setResponseTransform(buildServerTransform(transformName, transformParams, transformParamsDelimiter));
         }
     }
 
-    private ServerTransform buildServerTransform() {
+    /**
+     * @return null if no transform name is given
+     */
+    static ServerTransform buildServerTransform(String transformName, String transformParams, String transformParamsDelimiter) {
+        if (transformName == null || transformName.trim().isEmpty()) {
+            return null;
+        }
         ServerTransform transform = new ServerTransform(transformName);
         if (transformParams != null && !transformParams.trim().isEmpty()) {
             String delimiter = transformParamsDelimiter != null && !transformParamsDelimiter.trim().isEmpty() ? transformParamsDelimiter : ",";
@@ -194,7 +194,7 @@ public class ArchiveFileReader implements PartitionReader<InternalRow> {
         nextFilePathIndex++;
 
         if (!isStreamingDuringRead) {
-            this.currentZipInputStream = new ZipInputStream(fileContext.openFile(this.currentFilePath));
+            this.currentZipInputStream = new ZipInputStream(fileContext.openZipFile(filePartition, this.currentFilePath));
         }
     }
 
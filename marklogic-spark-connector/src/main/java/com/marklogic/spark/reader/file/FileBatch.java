@@ -5,7 +5,9 @@ package com.marklogic.spark.reader.file;
 
 import com.marklogic.spark.ConnectorException;
 import com.marklogic.spark.Options;
+import com.marklogic.spark.Util;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.spark.sql.SparkSession;
 import org.apache.spark.sql.connector.read.Batch;
 import org.apache.spark.sql.connector.read.InputPartition;
@@ -14,11 +16,16 @@ import org.apache.spark.sql.execution.datasources.PartitioningAwareFileIndex;
 import org.apache.spark.util.SerializableConfiguration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 class FileBatch implements Batch {
 
+    // Matches the default value of Spark's "spark.sql.files.openCostInBytes" configuration property.
+    private static final long FILE_OPEN_COST_IN_BYTES = 4L * 1024 * 1024;
+
     private final Map<String, String> properties;
     private final PartitioningAwareFileIndex fileIndex;
 
@@ -29,14 +36,139 @@ class FileBatch implements Batch {
 
     @Override
     public InputPartition[] planInputPartitions() {
+        final long splitSize = getSplitSize();
         List<String> filePaths = new ArrayList<>();
+        List<Long> fileSizes = new ArrayList<>();
+        List<FilePartition> fileSplits = new ArrayList<>();
         // Need to use allFiles and not inputFiles; the latter surprisingly URL-encodes each file path.
         // Would likely be better to soon refactor the FilePartition class to hold a FileStatus instead of a String so
         // that we don't need to convert it at all.
-        fileIndex.allFiles().iterator().foreach(fileStatus -> filePaths.add(fileStatus.getPath().toString()));
+        scala.collection.Iterator<FileStatus> fileStatuses = fileIndex.allFiles().iterator();
+        while (fileStatuses.hasNext()) {
+            FileStatus fileStatus = fileStatuses.next();
+            List<FilePartition> splits = splitSize > 0 && fileStatus.getLen() > splitSize ?
+                splitFile(fileStatus, splitSize) : Collections.emptyList();
+            if (splits.size() > 1) {
+                fileSplits.addAll(splits);
+            } else {
+                filePaths.add(fileStatus.getPath().toString());
+                fileSizes.add(fileStatus.getLen());
+            }
+        }
 
-        int numPartitions = getNumberOfPartitions(filePaths);
-        return FileUtil.makeFilePartitions(filePaths.toArray(new String[0]), numPartitions);
+        FilePartition[] partitions = makeFilePartitions(filePaths.toArray(new String[0]),
+            fileSizes.stream().mapToLong(Long::longValue).toArray());
+        if (fileSplits.isEmpty()) {
+            return partitions;
+        }
+        if (Util.MAIN_LOGGER.isInfoEnabled()) {
+            Util.MAIN_LOGGER.info("Split files into {} partitions of up to {} bytes each.", fileSplits.size(), splitSize);
+        }
+        fileSplits.addAll(0, Arrays.asList(partitions));
+        return fileSplits.toArray(new InputPartition[0]);
+    }
+
+    /**
+     * When the user specifies a number of partitions, files are distributed across them by size so that each
+     * partition reads roughly the same number of bytes. When the user instead specifies a maximum number of bytes per
+     * partition, small files are combined into partitions of up to that size. Otherwise, each file is read by a
+     * separate partition.
+     */
+    private FilePartition[] makeFilePartitions(String[] paths, long[] sizes) {
+        if (properties.containsKey(Options.READ_NUM_PARTITIONS)) {
+            return FileUtil.makeFilePartitionsBySize(paths, sizes, getNumberOfPartitions());
+        }
+        long maxPartitionBytes = getMaxPartitionBytes();
+        if (maxPartitionBytes > 0) {
+            FilePartition[] partitions = FileUtil.combineFilesBySize(paths, sizes, maxPartitionBytes, FILE_OPEN_COST_IN_BYTES);
+            if (Util.MAIN_LOGGER.isInfoEnabled()) {
+                Util.MAIN_LOGGER.info("Combined {} files into {} partitions of up to {} bytes each.", paths.length,
+                    partitions.length, maxPartitionBytes);
+            }
+            return partitions;
+        }
+        return FileUtil.makeFilePartitions(paths, paths.length);
+    }
+
+    private long getMaxPartitionBytes() {
+        String value = properties.get(Options.READ_FILES_MAX_PARTITION_BYTES);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ConnectorException(String.format("Invalid value for maximum partition bytes: %s", value));
+        }
+    }
+
+    private long getSplitSize() {
+        String value = properties.get(Options.READ_FILES_SPLIT_SIZE);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ConnectorException(String.format("Invalid value for split size: %s", value));
+        }
+    }
+
+    /**
+     * JSON Lines files are split into ranges that are aligned on line boundaries by the partition reader. Aggregate
+     * XML files are split into ranges that are aligned on the start tag of the aggregate element by the partition
+     * reader. Zip files are split into ranges of entries based on the zip's central directory.
+     *
+     * @return the splits for the file, or an empty list if the file cannot be split
+     */
+    private List<FilePartition> splitFile(FileStatus fileStatus, long splitSize) {
+        final String fileType = properties.get(Options.READ_FILES_TYPE);
+        final String path = fileStatus.getPath().toString();
+        if ("json_lines".equalsIgnoreCase(fileType) || isAggregateXmlFile(fileType)) {
+            return isSplittableTextFile(path) ?
+                FileUtil.makeFileSplits(path, fileStatus.getLen(), splitSize) :
+                Collections.emptyList();
+        }
+        if (isSplittableZipFile(fileType)) {
+            // Each document in an archive file consists of a metadata entry and a content entry, which must be read
+            // by the same partition.
+            int entriesPerRecord = "archive".equalsIgnoreCase(fileType) ? 2 : 1;
+            Configuration config = SparkSession.active().sparkContext().hadoopConfiguration();
+            return ZipFileSplitter.makeZipSplits(fileStatus, config, splitSize, entriesPerRecord);
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean isAggregateXmlFile(String fileType) {
+        return fileType == null && properties.containsKey(Options.READ_AGGREGATES_XML_ELEMENT);
+    }
+
+    /**
+     * A compressed file cannot be read from an arbitrary position, and record boundaries - a newline byte or the start
+     * tag of an element - can only be found by matching bytes when the file's encoding is compatible with ASCII.
+     */
+    private boolean isSplittableTextFile(String path) {
+        String compression = properties.get(Options.READ_FILES_COMPRESSION);
+        String encoding = properties.get(Options.READ_FILES_ENCODING);
+        return (compression == null || compression.trim().isEmpty())
+            && !path.endsWith(".gz") && !path.endsWith(".gzip")
+            && (encoding == null || "UTF-8".equalsIgnoreCase(encoding) || "US-ASCII".equalsIgnoreCase(encoding));
+    }
+
+    /**
+     * Only zip files whose entries are each read independently - either as a file or as part of an archive document -
+     * can be split. When streaming files, the zip file is instead read in its entirety during the writer phase.
+     */
+    private boolean isSplittableZipFile(String fileType) {
+        if ("true".equalsIgnoreCase(properties.get(Options.STREAM_FILES))) {
+            return false;
+        }
+        if ("archive".equalsIgnoreCase(fileType)) {
+            return true;
+        }
+        return fileType == null
+            && "zip".equalsIgnoreCase(properties.get(Options.READ_FILES_COMPRESSION))
+            && !properties.containsKey(Options.READ_AGGREGATES_XML_ELEMENT);
     }
 
     @Override
@@ -48,15 +180,12 @@ class FileBatch implements Batch {
         return new FilePartitionReaderFactory(fileContext);
     }
 
-    private int getNumberOfPartitions(List<String> filePaths) {
-        if (properties.containsKey(Options.READ_NUM_PARTITIONS)) {
-            String value = properties.get(Options.READ_NUM_PARTITIONS);
-            try {
-                return Integer.parseInt(value);
-            } catch (NumberFormatException e) {
-                throw new ConnectorException(String.format("Invalid value for number of partitions: %s", value));
-            }
+    private int getNumberOfPartitions() {
+        String value = properties.get(Options.READ_NUM_PARTITIONS);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ConnectorException(String.format("Invalid value for number of partitions: %s", value));
         }
-        return filePaths.size();
     }
 }
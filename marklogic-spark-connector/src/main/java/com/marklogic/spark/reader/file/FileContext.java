@@ -6,6 +6,8 @@ package com.marklogic.spark.reader.file;
 import com.marklogic.spark.ConnectorException;
 import com.marklogic.spark.ContextSupport;
 import com.marklogic.spark.Options;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
@@ -62,6 +64,51 @@ public class FileContext extends ContextSupport implements Serializable {
         }
     }
 
+    /**
+     * Opens an uncompressed file and positions the returned stream at the given offset.
+     */
+    public InputStream openFileAtOffset(String filePath, long offset) {
+        try {
+            Path hadoopPath = new Path(filePath);
+            FileSystem fileSystem = hadoopPath.getFileSystem(hadoopConfiguration.value());
+            FileStatus fileStatus = fileSystem.getFileStatus(hadoopPath);
+            FSDataInputStream inputStream = fileSystem.open(fileStatus.getPath());
+            inputStream.seek(offset);
+            return inputStream;
+        } catch (Exception e) {
+            throw new ConnectorException(String.format(
+                "Unable to read file at %s; cause: %s", filePath, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Opens an uncompressed file such that the returned stream only reads the bytes from the start offset, inclusive,
+     * to the end offset, exclusive.
+     */
+    InputStream openFileRange(String filePath, long startOffset, long endOffset) {
+        final InputStream inputStream = openFileAtOffset(filePath, startOffset);
+        try {
+            return BoundedInputStream.builder()
+                .setInputStream(inputStream)
+                .setMaxCount(endOffset - startOffset)
+                .get();
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new ConnectorException(String.format(
+                "Unable to read file at %s; cause: %s", filePath, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Opens a zip file, or only the range of bytes containing the zip entries to be read when the partition is a
+     * split of the zip file.
+     */
+    InputStream openZipFile(FilePartition filePartition, String filePath) {
+        return filePartition.isFileSplit() ?
+            openFileRange(filePath, filePartition.getStartOffset(), filePartition.getEndOffset()) :
+            openFile(filePath);
+    }
+
     BufferedReader openFileReader(String filePath, boolean guessIfGzipped) {
         try {
             InputStream inputStream = openFile(filePath, guessIfGzipped);
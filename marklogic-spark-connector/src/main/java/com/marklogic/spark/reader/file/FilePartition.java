@@ -14,20 +14,47 @@ public class FilePartition implements InputPartition {
 
     private final List<String> paths;
 
+    // Only set when the partition reads a range of bytes - from the start offset, inclusive, to the end offset,
+    // exclusive - within a single file.
+    private final Long startOffset;
+    private final Long endOffset;
+
     public FilePartition(String path) {
-        this.paths = Arrays.asList(path);
+        this(Arrays.asList(path));
     }
 
     public FilePartition(List<String> paths) {
         this.paths = paths;
+        this.startOffset = null;
+        this.endOffset = null;
+    }
+
+    FilePartition(String path, long startOffset, long endOffset) {
+        this.paths = Arrays.asList(path);
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
     }
 
     public List<String> getPaths() {
         return paths;
     }
 
+    public boolean isFileSplit() {
+        return startOffset != null;
+    }
+
+    public Long getStartOffset() {
+        return startOffset;
+    }
+
+    public Long getEndOffset() {
+        return endOffset;
+    }
+
     @Override
     public String toString() {
-        return this.paths.toString();
+        return isFileSplit() ?
+            String.format("%s [%d, %d)", this.paths, this.startOffset, this.endOffset) :
+            this.paths.toString();
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads the lines whose first byte is within a range of bytes in a file, similar to Hadoop's LineRecordReader. A
+ * line that starts within the range is read in its entirety, even if it ends after the range. A partial line at the
+ * start of the range is skipped, as it is read by the range that precedes it. Every line in a file is thus read by
+ * exactly one range, regardless of where the file was split.
+ */
+class FileSplitLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+    private final long endOffset;
+    private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+
+    // Lines are found by scanning this buffer for a newline and copying the bytes before it, as Hadoop's LineReader
+    // does, instead of reading and copying one byte at a time.
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPosition;
+    private int bufferLength;
+
+    // The offset in the file of the next byte to be read from the buffer.
+    private long position;
+
+    /**
+     * @param fileContext
+     * @param filePath
+     * @param startOffset inclusive
+     * @param endOffset   exclusive
+     * @throws IOException
+     */
+    FileSplitLineReader(FileContext fileContext, String filePath, long startOffset, long endOffset) throws IOException {
+        this.endOffset = endOffset;
+        if (startOffset == 0) {
+            this.inputStream = fileContext.openFileAtOffset(filePath, 0);
+            this.position = 0;
+        } else {
+            // Reading the byte before the range determines whether the range starts at the beginning of a line.
+            this.inputStream = fileContext.openFileAtOffset(filePath, startOffset - 1);
+            this.position = startOffset - 1;
+            skipToNextLine();
+        }
+    }
+
+    /**
+     * @return the bytes of the next line, without its line terminator; or null if no more lines start within the
+     * range
+     * @throws IOException
+     */
+    byte[] readLine() throws IOException {
+        if (position >= endOffset || !fillBufferIfEmpty()) {
+            return null;
+        }
+        lineBuffer.reset();
+        while (fillBufferIfEmpty()) {
+            int newline = indexOfNewline();
+            int end = newline >= 0 ? newline : bufferLength;
+            if (newline >= 0 && lineBuffer.size() == 0) {
+                // The entire line is in the buffer, so it can be copied without using the line buffer.
+                byte[] line = copyLine(buffer, bufferPosition, end);
+                consume(newline + 1);
+                return line;
+            }
+            lineBuffer.write(buffer, bufferPosition, end - bufferPosition);
+            consume(newline >= 0 ? newline + 1 : bufferLength);
+            if (newline >= 0) {
+                break;
+            }
+        }
+        byte[] line = lineBuffer.toByteArray();
+        return copyLine(line, 0, line.length);
+    }
+
+    private void skipToNextLine() throws IOException {
+        while (fillBufferIfEmpty()) {
+            int newline = indexOfNewline();
+            if (newline >= 0) {
+                consume(newline + 1);
+                return;
+            }
+            consume(bufferLength);
+        }
+    }
+
+    /**
+     * @return true if the buffer has at least one unread byte, or false if the end of the stream has been reached
+     */
+    private boolean fillBufferIfEmpty() throws IOException {
+        while (bufferPosition >= bufferLength) {
+            int count = inputStream.read(buffer, 0, buffer.length);
+            if (count == -1) {
+                return false;
+            }
+            bufferPosition = 0;
+            bufferLength = count;
+        }
+        return true;
+    }
+
+    private int indexOfNewline() {
+        for (int i = bufferPosition; i < bufferLength; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param end the index in the buffer after the last byte consumed
+     */
+    private void consume(int end) {
+        position += end - bufferPosition;
+        bufferPosition = end;
+    }
+
+    /**
+     * Copies the given bytes, excluding a trailing carriage return.
+     */
+    private static byte[] copyLine(byte[] bytes, int start, int end) {
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+        if (start == 0 && end == bytes.length) {
+            return bytes;
+        }
+        return Arrays.copyOfRange(bytes, start, end);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -68,6 +69,102 @@ public interface FileUtil {
         return partitions;
     }
 
+    /**
+     * Assigns files to the given number of partitions such that each partition has approximately the same number of
+     * bytes to read, as opposed to the same number of files. Files are assigned from largest to smallest, with each
+     * file going to the partition with the fewest bytes assigned to it so far. Within a partition, files retain the
+     * order in which they were given.
+     *
+     * @param files
+     * @param fileSizes     the length of each file in {@code files}
+     * @param numPartitions
+     * @return
+     */
+    static FilePartition[] makeFilePartitionsBySize(String[] files, long[] fileSizes, int numPartitions) {
+        if (files.length < numPartitions) {
+            numPartitions = files.length;
+        }
+        final long[] partitionSizes = new long[numPartitions];
+        final int[] assignments = new int[files.length];
+        for (int fileIndex : sortIndicesBySizeDescending(fileSizes)) {
+            int smallest = 0;
+            for (int i = 1; i < numPartitions; i++) {
+                if (partitionSizes[i] < partitionSizes[smallest]) {
+                    smallest = i;
+                }
+            }
+            assignments[fileIndex] = smallest;
+            partitionSizes[smallest] += fileSizes[fileIndex];
+        }
+        return toFilePartitions(files, assignments, numPartitions);
+    }
+
+    /**
+     * Combines files into partitions of up to the given number of bytes each, such that a large number of small files
+     * does not result in a large number of partitions. Files are assigned from largest to smallest, with a new
+     * partition being started when the next file would exceed the maximum. A file larger than the maximum is placed
+     * in a partition by itself. As with Spark's own file sources, each file counts as at least
+     * {@code openCostInBytes} to account for the cost of opening it.
+     *
+     * @param files
+     * @param fileSizes         the length of each file in {@code files}
+     * @param maxPartitionBytes
+     * @param openCostInBytes
+     * @return
+     */
+    static FilePartition[] combineFilesBySize(String[] files, long[] fileSizes, long maxPartitionBytes, long openCostInBytes) {
+        final int[] assignments = new int[files.length];
+        int partitionCount = 0;
+        long currentSize = 0;
+        for (int fileIndex : sortIndicesBySizeDescending(fileSizes)) {
+            long fileSize = Math.max(fileSizes[fileIndex], openCostInBytes);
+            if (partitionCount == 0 || (currentSize > 0 && currentSize + fileSize > maxPartitionBytes)) {
+                partitionCount++;
+                currentSize = 0;
+            }
+            assignments[fileIndex] = partitionCount - 1;
+            currentSize += fileSize;
+        }
+        return toFilePartitions(files, assignments, partitionCount);
+    }
+
+    private static int[] sortIndicesBySizeDescending(long[] fileSizes) {
+        return IntStream.range(0, fileSizes.length)
+            .boxed()
+            .sorted((a, b) -> Long.compare(fileSizes[b], fileSizes[a]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private static FilePartition[] toFilePartitions(String[] files, int[] assignments, int numPartitions) {
+        final List<List<String>> paths = new ArrayList<>();
+        for (int i = 0; i < numPartitions; i++) {
+            paths.add(new ArrayList<>());
+        }
+        for (int i = 0; i < files.length; i++) {
+            paths.get(assignments[i]).add(files[i]);
+        }
+        return paths.stream().map(FilePartition::new).toArray(FilePartition[]::new);
+    }
+
+    /**
+     * Splits a file into ranges of bytes of the given size, with the last range containing any remaining bytes. Each
+     * range becomes a separate partition. A reader of a range is responsible for aligning the range on record
+     * boundaries, such as the start of a line.
+     *
+     * @param path
+     * @param fileLength
+     * @param splitSize
+     * @return
+     */
+    static List<FilePartition> makeFileSplits(String path, long fileLength, long splitSize) {
+        List<FilePartition> splits = new ArrayList<>();
+        for (long start = 0; start < fileLength; start += splitSize) {
+            splits.add(new FilePartition(path, start, Math.min(start + splitSize, fileLength)));
+        }
+        return splits;
+    }
+
     static byte[] serializeFileContext(FileContext fileContext, String currentFilePath) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
@@ -3,6 +3,7 @@
  */
 package com.marklogic.spark.reader.file;
 
+import com.marklogic.spark.ConnectorException;
 import org.apache.commons.io.IOUtils;
 import org.apache.spark.sql.catalyst.InternalRow;
 import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
@@ -11,6 +12,7 @@ import org.apache.spark.unsafe.types.ByteArray;
 import org.apache.spark.unsafe.types.UTF8String;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.Iterator;
 
 class JsonLinesFileReader implements PartitionReader<InternalRow> {
@@ -21,6 +23,9 @@ class JsonLinesFileReader implements PartitionReader<InternalRow> {
     private BufferedReader bufferedReader;
     private Iterator<String> bufferedLines;
 
+    // Only used when the partition is a range of bytes within a file.
+    private FileSplitLineReader splitLineReader;
+
     private InternalRow nextRowToReturn;
     private String currentFilePath;
     private int lineCounter;
@@ -33,6 +38,10 @@ class JsonLinesFileReader implements PartitionReader<InternalRow> {
 
     @Override
     public boolean next() {
+        if (filePartition.isFileSplit()) {
+            return nextLineInFileSplit();
+        }
+
         if (bufferedLines != null && bufferedLines.hasNext()) {
             this.nextRowToReturn = createRowFromNextJsonLine();
             return true;
@@ -58,6 +67,7 @@ class JsonLinesFileReader implements PartitionReader<InternalRow> {
     @Override
     public void close() {
         IOUtils.closeQuietly(bufferedReader);
+        IOUtils.closeQuietly(splitLineReader);
     }
 
     private void openNextFile() {
@@ -75,9 +85,39 @@ class JsonLinesFileReader implements PartitionReader<InternalRow> {
         String line = bufferedLines.next();
         String uri = String.format("%s-%d.json", UTF8String.fromString(currentFilePath), lineCounter);
         lineCounter++;
+        return makeRow(uri, line.getBytes());
+    }
+
+    /**
+     * As the line number of a line within the file is not known when the file is split, the URI of each row is based
+     * on the start offset of the range and the line number within the range. The URI is thus still the same each
+     * time the file is read with the same split size.
+     */
+    private boolean nextLineInFileSplit() {
+        try {
+            if (splitLineReader == null) {
+                this.currentFilePath = filePartition.getPaths().get(0);
+                this.lineCounter = 1;
+                this.splitLineReader = new FileSplitLineReader(fileContext, currentFilePath,
+                    filePartition.getStartOffset(), filePartition.getEndOffset());
+            }
+            byte[] line = splitLineReader.readLine();
+            if (line == null) {
+                return false;
+            }
+            String uri = String.format("%s-%d-%d.json", currentFilePath, filePartition.getStartOffset(), lineCounter);
+            lineCounter++;
+            this.nextRowToReturn = makeRow(uri, line);
+            return true;
+        } catch (IOException e) {
+            throw new ConnectorException(String.format("Unable to read file at %s; cause: %s", currentFilePath, e.getMessage()), e);
+        }
+    }
+
+    private InternalRow makeRow(String uri, byte[] content) {
         return new GenericInternalRow(new Object[]{
             UTF8String.fromString(uri),
-            ByteArray.concat(line.getBytes()),
+            ByteArray.concat(content),
             UTF8String.fromString("JSON"),
             null, null, null, null, null
         });
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.file;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Exposes a Hadoop input stream as a read-only {@code SeekableByteChannel}, which allows for a zip file on any
+ * filesystem supported by Hadoop to be read with random access via commons-compress.
+ */
+class SeekableInputStreamChannel implements SeekableByteChannel {
+
+    private final FSDataInputStream inputStream;
+    private final long size;
+    private long position;
+    private boolean open = true;
+
+    SeekableInputStreamChannel(FSDataInputStream inputStream, long size) {
+        this.inputStream = inputStream;
+        this.size = size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (position >= size) {
+            return -1;
+        }
+        final int length = (int) Math.min(dst.remaining(), size - position);
+        byte[] buffer = new byte[length];
+        int read = inputStream.read(position, buffer, 0, length);
+        if (read < 0) {
+            return -1;
+        }
+        dst.put(buffer, 0, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) {
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long newSize) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (open) {
+            open = false;
+            inputStream.close();
+        }
+    }
+}
@@ -124,7 +124,7 @@ public class ZipFileReader implements PartitionReader<InternalRow> {
     private void openNextFile() {
         this.currentFilePath = filePartition.getPaths().get(nextFilePathIndex);
         nextFilePathIndex++;
-        this.currentZipInputStream = new ZipInputStream(fileContext.openFile(this.currentFilePath));
+        this.currentZipInputStream = new ZipInputStream(fileContext.openZipFile(filePartition, this.currentFilePath));
     }
 
     private byte[] readZipEntry() {
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.file;
+
+import com.marklogic.spark.Util;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits a zip file into ranges of bytes based on its central directory, which lists the offset and compressed size
+ * of each entry and can be read without reading any of the entries. Each range starts at the local header of an
+ * entry, allowing a partition reader to seek directly to the start of its range and read the entries in it.
+ */
+class ZipFileSplitter {
+
+    private ZipFileSplitter() {
+    }
+
+    /**
+     * @param fileStatus
+     * @param config
+     * @param splitSize         minimum number of compressed bytes of entries in each range
+     * @param entriesPerRecord  number of consecutive file entries that must be read by the same partition, such as
+     *                          the metadata and content entries for a document in an archive file
+     * @return the splits for the zip file, or an empty list if the zip file's central directory cannot be read
+     */
+    static List<FilePartition> makeZipSplits(FileStatus fileStatus, Configuration config, long splitSize, int entriesPerRecord) {
+        final String path = fileStatus.getPath().toString();
+        try {
+            FileSystem fileSystem = fileStatus.getPath().getFileSystem(config);
+            // The channel is closed by the ZipFile, but must be closed here as well in case the ZipFile cannot be
+            // constructed; closing it twice is harmless.
+            try (SeekableInputStreamChannel channel = new SeekableInputStreamChannel(fileSystem.open(fileStatus.getPath()), fileStatus.getLen());
+                 // The local file headers are not needed, and reading them would require a seek for every entry.
+                 ZipFile zipFile = ZipFile.builder().setSeekableByteChannel(channel).setIgnoreLocalFileHeader(true).get()) {
+                List<ZipArchiveEntry> entries = Collections.list(zipFile.getEntriesInPhysicalOrder());
+                return makeZipSplits(path, fileStatus.getLen(), entries, splitSize, entriesPerRecord);
+            }
+        } catch (IOException e) {
+            // The file is then read in its entirety by a single partition, where any error is handled based on the
+            // user's options for handling a failure to read a file.
+            if (Util.MAIN_LOGGER.isWarnEnabled()) {
+                Util.MAIN_LOGGER.warn("Unable to read central directory of zip file at {}, so will not split it; cause: {}", path, e.getMessage());
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A range is ended once it contains at least {@code splitSize} compressed bytes and a complete set of records. The
+     * last range extends to the end of the file so that a reader of it stops at the central directory.
+     */
+    static List<FilePartition> makeZipSplits(String path, long fileLength, List<ZipArchiveEntry> entries, long splitSize, int entriesPerRecord) {
+        List<FilePartition> splits = new ArrayList<>();
+        long rangeStart = 0;
+        long rangeBytes = 0;
+        int rangeFileEntries = 0;
+        for (int i = 0; i < entries.size() - 1; i++) {
+            ZipArchiveEntry entry = entries.get(i);
+            rangeBytes += entry.getCompressedSize();
+            if (!entry.isDirectory()) {
+                rangeFileEntries++;
+            }
+            if (rangeBytes >= splitSize && rangeFileEntries > 0 && rangeFileEntries % entriesPerRecord == 0) {
+                long rangeEnd = entries.get(i + 1).getLocalHeaderOffset();
+                splits.add(new FilePartition(path, rangeStart, rangeEnd));
+                rangeStart = rangeEnd;
+                rangeBytes = 0;
+                rangeFileEntries = 0;
+            }
+        }
+        splits.add(new FilePartition(path, rangeStart, fileLength));
+        return splits;
+    }
+}
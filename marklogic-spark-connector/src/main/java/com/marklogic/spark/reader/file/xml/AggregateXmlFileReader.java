@@ -54,7 +54,11 @@ public class AggregateXmlFileReader implements PartitionReader<InternalRow> {
 
             try {
                 String path = filePartition.getPaths().get(filePathIndex);
-                nextRowToReturn = this.aggregateXMLSplitter.nextRow(path);
+                // Includes the start offset of a split so that URIs are unique across the splits of a file.
+                String uriPrefix = filePartition.isFileSplit() ?
+                    String.format("%s-%d", path, filePartition.getStartOffset()) :
+                    path;
+                nextRowToReturn = this.aggregateXMLSplitter.nextRow(uriPrefix);
                 return true;
             } catch (RuntimeException ex) {
                 // Error is expected to be friendly already.
@@ -83,9 +87,21 @@ public class AggregateXmlFileReader implements PartitionReader<InternalRow> {
 
         final String filePath = filePartition.getPaths().get(filePathIndex);
         try {
-            this.inputStream = fileContext.openFile(filePath);
             String identifierForError = "file " + filePath;
-            this.aggregateXMLSplitter = new AggregateXmlSplitter(identifierForError, this.inputStream, fileContext);
+            if (filePartition.isFileSplit()) {
+                AggregateXmlFileSplit fileSplit = AggregateXmlFileSplit.open(fileContext, filePath,
+                    filePartition.getStartOffset(), filePartition.getEndOffset());
+                if (fileSplit.getElementCount() == 0) {
+                    filePathIndex++;
+                    return initializeAggregateXMLSplitter();
+                }
+                this.inputStream = fileSplit.getInputStream();
+                this.aggregateXMLSplitter = new AggregateXmlSplitter(identifierForError, this.inputStream, fileContext,
+                    fileSplit.getElementCount());
+            } else {
+                this.inputStream = fileContext.openFile(filePath);
+                this.aggregateXMLSplitter = new AggregateXmlSplitter(identifierForError, this.inputStream, fileContext);
+            }
             return true;
         } catch (ConnectorException ex) {
             if (fileContext.isReadAbortOnFailure()) {
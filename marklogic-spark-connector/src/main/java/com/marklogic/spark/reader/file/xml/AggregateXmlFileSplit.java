@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.file.xml;
+
+import com.marklogic.spark.ConnectorException;
+import com.marklogic.spark.Options;
+import com.marklogic.spark.Util;
+import com.marklogic.spark.reader.file.FileContext;
+import org.apache.commons.io.IOUtils;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prepares a range of bytes within an aggregate XML file to be read by an {@code AggregateXmlSplitter}. A range reads
+ * every aggregate element whose start tag begins within the range, which is determined by scanning the bytes in the
+ * range for the start tag of the aggregate element. The stream for the range begins with a copy of the root element's
+ * start tag, including its namespace declarations, followed by the bytes of the file starting at the first aggregate
+ * element in the range. Each element is thus read with the same namespace context as when the file is read in its
+ * entirety.
+ * <p>
+ * As start tags are found by matching bytes instead of by parsing XML, splitting assumes that the start tag of an
+ * aggregate element does not appear in a comment or CDATA section and that aggregate elements are not nested within
+ * each other. Splitting also requires that the aggregate elements are children of the root element, as the stream for
+ * a range would otherwise contain the end tag of a wrapper element whose start tag it does not contain; and that the
+ * prefix of the aggregate element is bound to its namespace on the root element. If the first aggregate element in
+ * the file is not a child of the root element, or has its namespace declared on itself or on an element between it
+ * and the root, the range starting at the beginning of the file reads the entire file and every other range reads
+ * nothing.
+ */
+class AggregateXmlFileSplit {
+
+    private final InputStream inputStream;
+    private final long elementCount;
+
+    private AggregateXmlFileSplit(InputStream inputStream, long elementCount) {
+        this.inputStream = inputStream;
+        this.elementCount = elementCount;
+    }
+
+    static AggregateXmlFileSplit open(FileContext fileContext, String filePath, long startOffset, long endOffset) throws IOException, XMLStreamException {
+        final String namespace = fileContext.getStringOption(Options.READ_AGGREGATES_XML_NAMESPACE);
+        final String element = fileContext.getStringOption(Options.READ_AGGREGATES_XML_ELEMENT);
+
+        final List<String[]> rootNamespaces = new ArrayList<>();
+        final String rootStartTag = readRootStartTag(fileContext, filePath, namespace, element, rootNamespaces);
+        if (rootStartTag == null) {
+            if (startOffset > 0) {
+                return new AggregateXmlFileSplit(null, 0);
+            }
+            if (Util.MAIN_LOGGER.isWarnEnabled()) {
+                Util.MAIN_LOGGER.warn("Element {} is not a child of the root element with its namespace declared on " +
+                    "the root element in file {}, so the file will be read by a single partition.", element, filePath);
+            }
+            return new AggregateXmlFileSplit(fileContext.openFile(filePath), Long.MAX_VALUE);
+        }
+        final List<byte[]> tagNames = getTagNames(namespace, element, rootNamespaces);
+
+        long[] startTags;
+        try (InputStream stream = fileContext.openFileAtOffset(filePath, startOffset)) {
+            startTags = findStartTags(stream, startOffset, endOffset, tagNames);
+        }
+        if (startTags[1] == 0) {
+            return new AggregateXmlFileSplit(null, 0);
+        }
+
+        InputStream stream = new SequenceInputStream(
+            new ByteArrayInputStream(rootStartTag.getBytes(StandardCharsets.UTF_8)),
+            fileContext.openFileAtOffset(filePath, startTags[0])
+        );
+        return new AggregateXmlFileSplit(stream, startTags[1]);
+    }
+
+    /**
+     * Scans the given stream, which must be positioned at the start offset, for the start tag of an element with one
+     * of the given names.
+     *
+     * @return the offset of the first start tag beginning within the range, or -1 if there is none; and the number of
+     * start tags beginning within the range
+     */
+    static long[] findStartTags(InputStream inputStream, long startOffset, long endOffset, List<byte[]> tagNames) throws IOException {
+        long firstOffset = -1;
+        long count = 0;
+        if (tagNames.isEmpty()) {
+            return new long[]{firstOffset, count};
+        }
+
+        // Reading one byte beyond the longest name allows for checking that the name is not a prefix of another name.
+        final int lookahead = tagNames.stream().mapToInt(name -> name.length).max().getAsInt() + 1;
+        final byte[] candidate = new byte[lookahead];
+        final BufferedInputStream stream = new BufferedInputStream(inputStream, 64 * 1024);
+        long position = startOffset;
+        int next;
+        while (position < endOffset && (next = stream.read()) != -1) {
+            position++;
+            if (next == '<') {
+                stream.mark(lookahead);
+                int length = IOUtils.read(stream, candidate);
+                stream.reset();
+                if (matchesTagName(candidate, length, tagNames)) {
+                    if (firstOffset < 0) {
+                        firstOffset = position - 1;
+                    }
+                    count++;
+                }
+            }
+        }
+        return new long[]{firstOffset, count};
+    }
+
+    /**
+     * Determines the qualified names that a start tag of the aggregate element may have, based on the namespace
+     * declarations on the root element.
+     */
+    static List<byte[]> getTagNames(String namespace, String element, List<String[]> rootNamespaces) {
+        final String expectedNamespace = namespace != null ? namespace : "";
+        String defaultNamespace = "";
+        List<byte[]> tagNames = new ArrayList<>();
+        for (String[] declaration : rootNamespaces) {
+            String prefix = declaration[0];
+            String uri = declaration[1];
+            if (prefix == null || prefix.isEmpty()) {
+                defaultNamespace = uri;
+            } else if (uri.equals(expectedNamespace)) {
+                tagNames.add((prefix + ":" + element).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        if (defaultNamespace.equals(expectedNamespace)) {
+            tagNames.add(element.getBytes(StandardCharsets.UTF_8));
+        }
+        return tagNames;
+    }
+
+    InputStream getInputStream() {
+        return inputStream;
+    }
+
+    long getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * Reads the root element's start tag and then reads to the first aggregate element to verify that it is a child of
+     * the root element and that its prefix is bound to its namespace on the root element, both of which are required
+     * for a range to begin with an aggregate element.
+     *
+     * @return the root element's start tag, or null if the file cannot be split
+     */
+    private static String readRootStartTag(FileContext fileContext, String filePath, String namespace, String element,
+                                           List<String[]> rootNamespaces) throws IOException, XMLStreamException {
+        final String encoding = fileContext.getStringOption(Options.READ_FILES_ENCODING);
+        final String expectedNamespace = namespace != null ? namespace : "";
+        try (InputStream stream = fileContext.openFile(filePath)) {
+            XMLStreamReader reader = AggregateXmlSplitter.xmlInputFactory.createXMLStreamReader(stream, encoding);
+            try {
+                // Skips past the prolog to the root element.
+                while (!reader.isStartElement() && reader.hasNext()) {
+                    reader.next();
+                }
+                if (!reader.isStartElement()) {
+                    throw new ConnectorException(String.format("Unable to find root element in file %s", filePath));
+                }
+                StringBuilder tag = new StringBuilder("<");
+                String prefix = reader.getPrefix();
+                if (prefix != null && !prefix.isEmpty()) {
+                    tag.append(prefix).append(':');
+                }
+                tag.append(reader.getLocalName());
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    String namespacePrefix = reader.getNamespacePrefix(i);
+                    String namespaceUri = reader.getNamespaceURI(i) != null ? reader.getNamespaceURI(i) : "";
+                    rootNamespaces.add(new String[]{namespacePrefix, namespaceUri});
+                    tag.append(namespacePrefix == null || namespacePrefix.isEmpty() ? " xmlns" : " xmlns:" + namespacePrefix)
+                        .append("=\"").append(escapeAttributeValue(namespaceUri)).append('"');
+                }
+                final String rootStartTag = tag.append('>').toString();
+
+                // The root element is at a depth of 1, so an aggregate element that is a child of it is at a depth of 2.
+                int depth = 1;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.END_ELEMENT) {
+                        depth--;
+                    } else if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth++;
+                        if (element.equals(reader.getLocalName()) &&
+                            expectedNamespace.equals(reader.getNamespaceURI() != null ? reader.getNamespaceURI() : "")) {
+                            return depth == 2 && isBoundOnRoot(reader.getPrefix(), expectedNamespace, rootNamespaces) ?
+                                rootStartTag : null;
+                        }
+                    }
+                }
+                // No aggregate element exists, so no range will find one either.
+                return rootStartTag;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private static boolean isBoundOnRoot(String prefix, String namespace, List<String[]> rootNamespaces) {
+        final String normalizedPrefix = prefix != null ? prefix : "";
+        // An unprefixed element is in no namespace unless a default namespace is declared.
+        String rootNamespace = normalizedPrefix.isEmpty() ? "" : null;
+        for (String[] declaration : rootNamespaces) {
+            if (normalizedPrefix.equals(declaration[0] != null ? declaration[0] : "")) {
+                rootNamespace = declaration[1];
+            }
+        }
+        return namespace.equals(rootNamespace);
+    }
+
+    private static boolean matchesTagName(byte[] candidate, int length, List<byte[]> tagNames) {
+        for (byte[] name : tagNames) {
+            if (length > name.length && startsWith(candidate, name) && isEndOfName(candidate[name.length])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] candidate, byte[] name) {
+        for (int i = 0; i < name.length; i++) {
+            if (candidate[i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEndOfName(byte value) {
+        return value == '>' || value == '/' || value == ' ' || value == '\t' || value == '\r' || value == '\n';
+    }
+
+    private static String escapeAttributeValue(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+    }
+}
@@ -35,7 +35,11 @@ class AggregateXmlSplitter {
 
     private int rowCounter = 1;
 
-    private static XMLInputFactory xmlInputFactory;
+    // Limits the number of elements read, which is necessary when reading a range of an aggregate XML file.
+    private final long maxElements;
+    private long elementsRead;
+
+    static final XMLInputFactory xmlInputFactory;
 
     static {
         xmlInputFactory = XMLInputFactory.newFactory();
@@ -56,7 +60,19 @@ class AggregateXmlSplitter {
      * @param fileContext
      */
     AggregateXmlSplitter(String identifierForErrors, InputStream inputStream, FileContext fileContext) {
+        this(identifierForErrors, inputStream, fileContext, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param identifierForErrors allows the caller of this class to provide a useful description to be included in
+     *                            any errors to help users with debugging.
+     * @param inputStream         the stream of aggregate XML data
+     * @param fileContext
+     * @param maxElements         the maximum number of aggregate elements to read from the stream
+     */
+    AggregateXmlSplitter(String identifierForErrors, InputStream inputStream, FileContext fileContext, long maxElements) {
         this.identifierForErrors = identifierForErrors;
+        this.maxElements = maxElements;
         this.uriElement = fileContext.getStringOption(Options.READ_AGGREGATES_XML_URI_ELEMENT);
         this.uriNamespace = fileContext.getStringOption(Options.READ_AGGREGATES_XML_URI_NAMESPACE);
         final String namespace = fileContext.getStringOption(Options.READ_AGGREGATES_XML_NAMESPACE);
@@ -78,6 +94,9 @@ class AggregateXmlSplitter {
     }
 
     boolean hasNext() {
+        if (elementsRead >= maxElements) {
+            return false;
+        }
         try {
             return this.contentStream.hasNext();
         } catch (Exception e) {
@@ -94,6 +113,7 @@ class AggregateXmlSplitter {
         StringHandle stringHandle;
         try {
             stringHandle = this.contentStream.next();
+            elementsRead++;
         } catch (RuntimeException ex) {
             String message = String.format("Unable to read XML from %s; cause: %s",
                 this.identifierForErrors, ex.getMessage());
@@ -3,7 +3,17 @@
  */
 package com.marklogic.spark.reader.filter;
 
+import org.apache.spark.sql.connector.expressions.Literal;
+import org.apache.spark.sql.connector.expressions.NamedReference;
+import org.apache.spark.sql.connector.expressions.filter.Predicate;
 import org.apache.spark.sql.sources.*;
+import org.apache.spark.sql.types.BooleanType;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.Decimal;
+import org.apache.spark.sql.types.NullType;
+import org.apache.spark.sql.types.NumericType;
+import org.apache.spark.sql.types.StringType;
+import org.apache.spark.unsafe.types.UTF8String;
 
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,6 +53,9 @@ public interface FilterFactory {
             return new IsNullFilter((IsNull) filter);
         } else if (filter instanceof In) {
             In f = (In) filter;
+            if (InFilter.supportsValues(f.values())) {
+                return new InFilter(f.attribute(), f.values());
+            }
             return new ParentFilter("or", Stream.of(f.values())
                 .map(value -> new SingleValueFilter("eq", f.attribute(), value))
                 .collect(Collectors.toList()));
@@ -58,4 +71,45 @@ public interface FilterFactory {
         }
         return null;
     }
+
+    /**
+     * Converts a predicate produced by Spark at runtime - such as the values of a join key from the other side of a
+     * join - into an Optic filter. Only an "in" predicate on a single column with supported literal values is
+     * converted, as Spark does not require runtime filters to be applied. The value of a literal is Spark's internal
+     * representation of it - e.g. a date is a number of days and a timestamp is a number of microseconds - so the
+     * type of each literal is checked instead of the class of its value.
+     *
+     * @param predicate
+     * @return null if the predicate cannot be pushed down
+     */
+    static OpticFilter toPlanFilter(Predicate predicate) {
+        if (!"IN".equals(predicate.name()) || predicate.children().length < 1) {
+            return null;
+        }
+        org.apache.spark.sql.connector.expressions.Expression[] children = predicate.children();
+        if (!(children[0] instanceof NamedReference) || ((NamedReference) children[0]).fieldNames().length != 1) {
+            return null;
+        }
+        Object[] values = new Object[children.length - 1];
+        for (int i = 1; i < children.length; i++) {
+            if (!(children[i] instanceof Literal) || !isSupportedLiteralType(((Literal<?>) children[i]).dataType())) {
+                return null;
+            }
+            Object value = ((Literal<?>) children[i]).value();
+            if (value instanceof UTF8String) {
+                value = value.toString();
+            } else if (value instanceof Decimal) {
+                value = ((Decimal) value).toJavaBigDecimal();
+            }
+            values[i - 1] = value;
+        }
+        return InFilter.supportsValues(values) ?
+            new InFilter(((NamedReference) children[0]).fieldNames()[0], values) :
+            null;
+    }
+
+    private static boolean isSupportedLiteralType(DataType dataType) {
+        return dataType instanceof StringType || dataType instanceof NumericType || dataType instanceof BooleanType ||
+            dataType instanceof NullType;
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.filter;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.marklogic.client.expression.PlanBuilder;
+import com.marklogic.spark.reader.optic.PlanUtil;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts an "in" filter into a single op.in call with the candidate values in a JSON array. This avoids sending an
+ * "or" of one op.eq per value - each with its own bound parameter - to MarkLogic, which becomes very expensive for
+ * MarkLogic to parse and evaluate when a filter has thousands of values, as is the case with a filter produced by a
+ * join.
+ * <p>
+ * The Java Client sends each bound parameter as a separate request parameter and only supports binding a single
+ * value to a parameter. The values are thus included in the plan itself, which is sent in the body of the request.
+ */
+class InFilter implements OpticFilter {
+
+    static final long serialVersionUID = 1;
+
+    private final String columnName;
+
+    // This warning about the values not being serializable is ignored, as only strings, numbers, and booleans are
+    // accepted by the constructor.
+    @SuppressWarnings("java:S1948")
+    private final List<Object> values;
+
+    /**
+     * @param columnName
+     * @param values     null values are ignored, as a null never matches a value in an "in" filter
+     */
+    InFilter(String columnName, Object[] values) {
+        this.columnName = columnName;
+        this.values = Stream.of(values).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Other types of values - such as dates and timestamps - are not supported, as their type would be lost when
+     * adding them to the plan as JSON. Those values are instead bound as parameters via an "or" of op.eq calls.
+     *
+     * @param values
+     * @return true if every non-null value can be added to the plan as a JSON value
+     */
+    static boolean supportsValues(Object[] values) {
+        return Stream.of(values).filter(Objects::nonNull).allMatch(value ->
+            value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long ||
+                value instanceof Short || value instanceof Byte || value instanceof Double || value instanceof Float ||
+                value instanceof BigDecimal);
+    }
+
+    @Override
+    public void populateArg(ObjectNode arg) {
+        ArrayNode functionArgs = arg.put("ns", "op").put("fn", "in").putArray("args");
+        PlanUtil.populateSchemaCol(functionArgs.addObject(), this.columnName);
+        ArrayNode valuesArg = functionArgs.addArray();
+        for (Object value : values) {
+            if (value instanceof String) {
+                valuesArg.add((String) value);
+            } else if (value instanceof Boolean) {
+                valuesArg.add((Boolean) value);
+            } else if (value instanceof Long) {
+                valuesArg.add((Long) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                valuesArg.add(((Number) value).doubleValue());
+            } else if (value instanceof BigDecimal) {
+                valuesArg.add((BigDecimal) value);
+            } else {
+                valuesArg.add(((Number) value).intValue());
+            }
+        }
+    }
+
+    @Override
+    public PlanBuilder.Plan bindFilterValue(PlanBuilder.Plan plan) {
+        return plan;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import org.apache.spark.sql.connector.metric.CustomSumMetric;
+import org.apache.spark.sql.connector.metric.CustomTaskMetric;
+
+/**
+ * Reports the number of buckets - i.e. requests to MarkLogic whose rows were returned to Spark - read by each
+ * partition reader. This can exceed the number of planned buckets when buckets with too many rows are split. Must be
+ * public with a no-arg constructor, as Spark instantiates it via reflection.
+ */
+public class BucketCountMetric extends CustomSumMetric {
+
+    static final String NAME = "bucketCount";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String description() {
+        return "number of buckets read from MarkLogic";
+    }
+
+    static CustomTaskMetric taskMetric(long value) {
+        return new CustomTaskMetric() {
+            @Override
+            public String name() {
+                return NAME;
+            }
+
+            @Override
+            public long value() {
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.marklogic.client.row.RowManager;
+import com.marklogic.spark.ConnectorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Reads the buckets of a partition in a background thread, such that the request for the next bucket can run while
+ * Spark processes the rows in the current bucket. Responses are held as unparsed bytes until they are needed so that
+ * the memory used by prefetched buckets can be limited. Only one request is in progress at a time, and the next
+ * request is only made once the previous one has completed and while the buffered responses are under the maximum
+ * number of bytes. The buffered responses can thus exceed that maximum by at most the size of one response.
+ */
+class BucketPrefetcher implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BucketPrefetcher.class);
+
+    private final PlanAnalysis.Partition partition;
+    private final Function<PlanAnalysis.Bucket, byte[]> bucketReader;
+    private final int prefetchCount;
+    private final long maxBytes;
+    private final ExecutorService executor;
+
+    // All guarded by "this".
+    private final Deque<byte[]> bufferedBuckets = new ArrayDeque<>();
+    private long bufferedBytes;
+    private boolean requestInProgress;
+    private Future<?> currentRequest;
+    private RuntimeException failure;
+    private int nextBucketToRequest;
+    private boolean closed;
+
+    BucketPrefetcher(OpticReadContext opticReadContext, RowManager rowManager, PlanAnalysis.Partition partition) {
+        this(partition, bucket -> opticReadContext.readBucketAsBytes(rowManager, partition, bucket),
+            opticReadContext.getPrefetchBucketCount(), opticReadContext.getPrefetchMaxBytes());
+    }
+
+    BucketPrefetcher(PlanAnalysis.Partition partition, Function<PlanAnalysis.Bucket, byte[]> bucketReader, int prefetchCount, long maxBytes) {
+        this.partition = partition;
+        this.bucketReader = bucketReader;
+        this.prefetchCount = prefetchCount;
+        this.maxBytes = maxBytes;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "marklogic-prefetch-" + partition.getIdentifier());
+            thread.setDaemon(true);
+            return thread;
+        });
+        synchronized (this) {
+            requestNextBucket();
+        }
+    }
+
+    /**
+     * Returns the response for the next bucket, waiting for it if necessary. Responses are returned in the same
+     * order as the buckets appear in the partition.
+     */
+    synchronized byte[] nextBucket() {
+        while (bufferedBuckets.isEmpty()) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (!requestInProgress) {
+                // Only occurs if every bucket has already been returned.
+                throw new ConnectorException(String.format("No more buckets to read in partition %s", partition));
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConnectorException("Interrupted while waiting for rows from MarkLogic", e);
+            }
+        }
+        byte[] response = bufferedBuckets.removeFirst();
+        bufferedBytes -= response != null ? response.length : 0;
+        requestNextBucket();
+        return response;
+    }
+
+    /**
+     * Must be called while holding the lock on this object.
+     */
+    private void requestNextBucket() {
+        final List<PlanAnalysis.Bucket> buckets = partition.getBuckets();
+        if (closed || requestInProgress || failure != null || nextBucketToRequest >= buckets.size() ||
+            bufferedBuckets.size() >= prefetchCount) {
+            return;
+        }
+        if (!bufferedBuckets.isEmpty() && bufferedBytes >= maxBytes) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Not prefetching next bucket for partition {}; buffered bytes: {}", partition, bufferedBytes);
+            }
+            return;
+        }
+        final PlanAnalysis.Bucket bucket = buckets.get(nextBucketToRequest);
+        nextBucketToRequest++;
+        requestInProgress = true;
+        currentRequest = executor.submit(() -> readBucket(bucket));
+    }
+
+    private void readBucket(PlanAnalysis.Bucket bucket) {
+        byte[] response = null;
+        RuntimeException error = null;
+        try {
+            response = bucketReader.apply(bucket);
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        synchronized (this) {
+            requestInProgress = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                bufferedBuckets.addLast(response);
+                bufferedBytes += response != null ? response.length : 0;
+                requestNextBucket();
+            }
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (currentRequest != null) {
+            currentRequest.cancel(true);
+        }
+        bufferedBuckets.clear();
+        executor.shutdownNow();
+    }
+}
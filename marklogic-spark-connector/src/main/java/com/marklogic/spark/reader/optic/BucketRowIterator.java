@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.marklogic.spark.ConnectorException;
+import com.marklogic.spark.reader.JsonRowDeserializer;
+import org.apache.commons.io.IOUtils;
+import org.apache.spark.sql.catalyst.InternalRow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Deserializes the rows in a response from MarkLogic for a bucket one at a time. The parser is moved to the "rows"
+ * array in the response, and each object in that array is then converted directly into an {@code InternalRow}. This
+ * avoids reading the entire response into memory and parsing each row a second time.
+ */
+class BucketRowIterator implements Iterator<InternalRow>, Closeable {
+
+    private final JsonParser parser;
+    private final JsonRowDeserializer jsonRowDeserializer;
+    private boolean hasNext;
+
+    /**
+     * @param parser              may be null if MarkLogic did not return a response, in which case there are no rows
+     * @param jsonRowDeserializer
+     */
+    BucketRowIterator(JsonParser parser, JsonRowDeserializer jsonRowDeserializer) {
+        this.parser = parser;
+        this.jsonRowDeserializer = jsonRowDeserializer;
+        try {
+            this.hasNext = parser != null && moveToRowsArray(parser) && parser.nextToken() == JsonToken.START_OBJECT;
+        } catch (IOException e) {
+            close();
+            throw new ConnectorException(String.format("Unable to read rows; cause: %s", e.getMessage()), e);
+        }
+        if (!hasNext) {
+            close();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public InternalRow next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        try {
+            InternalRow row = jsonRowDeserializer.deserializeJson(parser);
+            moveToNextRow();
+            return row;
+        } catch (IOException e) {
+            close();
+            throw new ConnectorException(String.format("Unable to read rows; cause: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Writes the next row directly into a set of column vectors instead of converting it into an {@code InternalRow}.
+     *
+     * @param columnVectorWriter
+     * @param rowId              the index of the row in each column vector
+     */
+    void writeNext(JsonColumnVectorWriter columnVectorWriter, int rowId) {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        try {
+            columnVectorWriter.write(parser, rowId);
+            moveToNextRow();
+        } catch (IOException e) {
+            close();
+            throw new ConnectorException(String.format("Unable to read rows; cause: %s", e.getMessage()), e);
+        }
+    }
+
+    private void moveToNextRow() throws IOException {
+        hasNext = parser.nextToken() == JsonToken.START_OBJECT;
+        if (!hasNext) {
+            close();
+        }
+    }
+
+    /**
+     * Determines whether a response has more rows than the given number without deserializing any of the rows. The
+     * given parser is closed once the rows have been counted.
+     *
+     * @param parser  may be null if MarkLogic did not return a response
+     * @param maxRows
+     */
+    static boolean hasMoreRowsThan(JsonParser parser, int maxRows) {
+        if (parser == null) {
+            return false;
+        }
+        try {
+            if (!moveToRowsArray(parser)) {
+                return false;
+            }
+            int rowCount = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                rowCount++;
+                if (rowCount > maxRows) {
+                    return true;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            throw new ConnectorException(String.format("Unable to read rows; cause: %s", e.getMessage()), e);
+        } finally {
+            IOUtils.closeQuietly(parser);
+        }
+    }
+
+    private static boolean moveToRowsArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            if ("rows".equals(fieldName) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        hasNext = false;
+        if (parser != null) {
+            IOUtils.closeQuietly(parser);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.marklogic.spark.ConnectorException;
+import org.apache.spark.sql.catalyst.util.DateTimeUtils;
+import org.apache.spark.sql.execution.vectorized.WritableColumnVector;
+import org.apache.spark.sql.types.*;
+import org.apache.spark.unsafe.types.UTF8String;
+import scala.Option;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the values of a JSON object representing a row directly into a set of column vectors, without first
+ * converting the object into an {@code InternalRow}. Values are converted in the same way as Spark's JacksonParser
+ * converts them for the row-based reader - e.g. a date or timestamp is parsed from its ISO 8601 representation - so
+ * that a query returns the same rows regardless of whether columnar batches are used.
+ */
+class JsonColumnVectorWriter {
+
+    private final WritableColumnVector[] columnVectors;
+    private final DataType[] dataTypes;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final boolean[] columnsWritten;
+    private final ZoneId zoneId;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * @param schema
+     * @param columnVectors one for each column in the schema
+     * @param zoneId        used for a timestamp that does not specify a time zone
+     */
+    JsonColumnVectorWriter(StructType schema, WritableColumnVector[] columnVectors, ZoneId zoneId) {
+        this.columnVectors = columnVectors;
+        this.zoneId = zoneId;
+        StructField[] fields = schema.fields();
+        this.dataTypes = new DataType[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            dataTypes[i] = fields[i].dataType();
+            columnIndexes.put(fields[i].name(), i);
+        }
+        this.columnsWritten = new boolean[fields.length];
+    }
+
+    /**
+     * @param schema
+     * @return true if every column in the schema has a type that can be written to a column vector by this class
+     */
+    static boolean supportsSchema(StructType schema) {
+        for (StructField field : schema.fields()) {
+            DataType type = field.dataType();
+            boolean supported = type instanceof StringType || type instanceof BooleanType || type instanceof ByteType ||
+                type instanceof ShortType || type instanceof IntegerType || type instanceof LongType ||
+                type instanceof FloatType || type instanceof DoubleType || type instanceof DateType ||
+                type instanceof TimestampType;
+            if (!supported) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param parser must be positioned at the start of the JSON object; is positioned at the end of the object when
+     *               this returns
+     * @param rowId  the index of the row in each column vector
+     */
+    void write(JsonParser parser, int rowId) throws IOException {
+        Arrays.fill(columnsWritten, false);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final Integer index = columnIndexes.get(parser.getCurrentName());
+            final JsonToken token = parser.nextToken();
+            if (index == null) {
+                parser.skipChildren();
+            } else {
+                if (token == JsonToken.VALUE_NULL) {
+                    columnVectors[index].putNull(rowId);
+                } else {
+                    writeValue(parser, token, index, rowId);
+                }
+                columnsWritten[index] = true;
+            }
+        }
+        // MarkLogic may omit a column with no value from a row.
+        for (int i = 0; i < columnsWritten.length; i++) {
+            if (!columnsWritten[i]) {
+                columnVectors[i].putNull(rowId);
+            }
+        }
+    }
+
+    @SuppressWarnings("java:S3776") // One branch per supported type is easier to follow than splitting this up.
+    private void writeValue(JsonParser parser, JsonToken token, int index, int rowId) throws IOException {
+        final WritableColumnVector vector = columnVectors[index];
+        final DataType type = dataTypes[index];
+        final boolean isNumber = token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+        if (type instanceof StringType) {
+            // As with JacksonParser, a value that is not a string - such as a JSON object - is stored as its JSON text.
+            vector.putByteArray(rowId, token == JsonToken.VALUE_STRING ?
+                parser.getText().getBytes(StandardCharsets.UTF_8) : copyStructure(parser));
+        } else if (type instanceof BooleanType && (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE)) {
+            vector.putBoolean(rowId, token == JsonToken.VALUE_TRUE);
+        } else if (type instanceof IntegerType && token == JsonToken.VALUE_NUMBER_INT) {
+            vector.putInt(rowId, parser.getIntValue());
+        } else if (type instanceof LongType && token == JsonToken.VALUE_NUMBER_INT) {
+            vector.putLong(rowId, parser.getLongValue());
+        } else if (type instanceof ShortType && token == JsonToken.VALUE_NUMBER_INT) {
+            vector.putShort(rowId, parser.getShortValue());
+        } else if (type instanceof ByteType && token == JsonToken.VALUE_NUMBER_INT) {
+            vector.putByte(rowId, parser.getByteValue());
+        } else if (type instanceof DoubleType && isNumber) {
+            vector.putDouble(rowId, parser.getDoubleValue());
+        } else if (type instanceof DoubleType && token == JsonToken.VALUE_STRING) {
+            vector.putDouble(rowId, parseNonNumericValue(parser, index));
+        } else if (type instanceof FloatType && isNumber) {
+            vector.putFloat(rowId, parser.getFloatValue());
+        } else if (type instanceof FloatType && token == JsonToken.VALUE_STRING) {
+            vector.putFloat(rowId, (float) parseNonNumericValue(parser, index));
+        } else if (type instanceof DateType && token == JsonToken.VALUE_STRING) {
+            Option<Object> days = DateTimeUtils.stringToDate(UTF8String.fromString(parser.getText()));
+            vector.putInt(rowId, (Integer) getOrThrow(days, parser, index));
+        } else if (type instanceof TimestampType && token == JsonToken.VALUE_STRING) {
+            Option<Object> micros = DateTimeUtils.stringToTimestamp(UTF8String.fromString(parser.getText()), zoneId);
+            vector.putLong(rowId, (Long) getOrThrow(micros, parser, index));
+        } else if (type instanceof TimestampType && token == JsonToken.VALUE_NUMBER_INT) {
+            // Matches JacksonParser, which treats a number as seconds since the epoch.
+            vector.putLong(rowId, parser.getLongValue() * 1000000L);
+        } else {
+            throw unsupportedValue(parser, index);
+        }
+    }
+
+    private byte[] copyStructure(JsonParser parser) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return output.toByteArray();
+    }
+
+    private double parseNonNumericValue(JsonParser parser, int index) throws IOException {
+        switch (parser.getText()) {
+            case "NaN":
+                return Double.NaN;
+            case "+INF":
+            case "+Infinity":
+            case "Infinity":
+                return Double.POSITIVE_INFINITY;
+            case "-INF":
+            case "-Infinity":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                throw unsupportedValue(parser, index);
+        }
+    }
+
+    private Object getOrThrow(Option<Object> value, JsonParser parser, int index) throws IOException {
+        if (value.isEmpty()) {
+            throw unsupportedValue(parser, index);
+        }
+        return value.get();
+    }
+
+    private ConnectorException unsupportedValue(JsonParser parser, int index) throws IOException {
+        return new ConnectorException(String.format("Unable to convert value %s to type %s for column %s",
+            parser.getText(), dataTypes[index].simpleString(), parser.getCurrentName()));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import org.apache.spark.sql.connector.metric.CustomTaskMetric;
+import org.apache.spark.sql.connector.read.PartitionReader;
+import org.apache.spark.sql.execution.vectorized.OffHeapColumnVector;
+import org.apache.spark.sql.execution.vectorized.OnHeapColumnVector;
+import org.apache.spark.sql.execution.vectorized.WritableColumnVector;
+import org.apache.spark.sql.types.StructType;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
+
+import java.time.ZoneId;
+
+/**
+ * Returns the rows read by an {@code OpticPartitionReader} as columnar batches, which allows Spark to avoid per-row
+ * overhead and to use vectorized operators. The partition reader is still responsible for making the calls to
+ * MarkLogic, but each row in a response is written directly into the column vectors instead of being converted into
+ * an {@code InternalRow}. The column vectors are allocated once and reused for every batch.
+ */
+class OpticColumnarPartitionReader implements PartitionReader<ColumnarBatch> {
+
+    // Matches the default batch size used by Spark's vectorized Parquet and ORC readers.
+    static final int BATCH_CAPACITY = 4096;
+
+    private final OpticPartitionReader rowReader;
+    private final WritableColumnVector[] columnVectors;
+    private final JsonColumnVectorWriter columnVectorWriter;
+    private final ColumnarBatch columnarBatch;
+    private boolean rowReaderExhausted;
+
+    OpticColumnarPartitionReader(OpticPartitionReader rowReader, StructType schema, boolean offHeap, ZoneId zoneId) {
+        this.rowReader = rowReader;
+        this.columnVectors = offHeap ?
+            OffHeapColumnVector.allocateColumns(BATCH_CAPACITY, schema) :
+            OnHeapColumnVector.allocateColumns(BATCH_CAPACITY, schema);
+        this.columnVectorWriter = new JsonColumnVectorWriter(schema, columnVectors, zoneId);
+        this.columnarBatch = new ColumnarBatch(columnVectors);
+    }
+
+    @Override
+    public boolean next() {
+        for (WritableColumnVector vector : columnVectors) {
+            vector.reset();
+        }
+        int rowCount = 0;
+        while (rowCount < BATCH_CAPACITY && !rowReaderExhausted) {
+            if (!rowReader.next()) {
+                rowReaderExhausted = true;
+                break;
+            }
+            rowReader.writeCurrentRow(columnVectorWriter, rowCount);
+            rowCount++;
+        }
+        columnarBatch.setNumRows(rowCount);
+        return rowCount > 0;
+    }
+
+    @Override
+    public ColumnarBatch get() {
+        return columnarBatch;
+    }
+
+    @Override
+    public CustomTaskMetric[] currentMetricsValues() {
+        return rowReader.currentMetricsValues();
+    }
+
+    @Override
+    public void close() {
+        try {
+            rowReader.close();
+        } finally {
+            columnarBatch.close();
+        }
+    }
+}
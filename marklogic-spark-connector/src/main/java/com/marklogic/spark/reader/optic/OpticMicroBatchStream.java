@@ -3,53 +3,71 @@
  */
 package com.marklogic.spark.reader.optic;
 
+import com.marklogic.spark.Options;
 import com.marklogic.spark.Util;
+import com.marklogic.spark.reader.MicroBatchRanges;
 import org.apache.spark.sql.connector.read.InputPartition;
 import org.apache.spark.sql.connector.read.PartitionReaderFactory;
-import org.apache.spark.sql.connector.read.streaming.MicroBatchStream;
-import org.apache.spark.sql.connector.read.streaming.Offset;
-import org.apache.spark.sql.execution.streaming.LongOffset;
+import org.apache.spark.sql.connector.read.streaming.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
 /**
- * Interprets a "micro batch" as a bucket. This gives the user control over how many micro batches will be created, as
- * the user can adjust the number of partitions and the batch size to affect how many buckets are created.
+ * Interprets a "micro batch" as one or more buckets. This gives the user control over how many micro batches will be
+ * created, as the user can adjust the number of partitions and the batch size to affect how many buckets are created,
+ * and can adjust how many buckets are read in each micro batch via {@code Options.READ_MAX_BUCKETS_PER_TRIGGER}.
  * <p>
- * Within the scope of this class, an offset is equivalent to an index in the list of all buckets across all partitions
- * present in the {@code PlanAnalysis}. Each bucket is defined by lower/upper row ID bounds. So to refer to a bucket,
- * we simply need to know the index of the bucket in the list of all buckets. And thus, an offset is simply the index of
- * a bucket in that list.
+ * Within the scope of this class, an offset is equivalent to the number of buckets that have been read from the list
+ * of all buckets across all partitions present in the {@code PlanAnalysis}. Each bucket is defined by lower/upper row
+ * ID bounds. So a micro batch with a start offset of 2 and an end offset of 5 reads the buckets at indices 2, 3, and
+ * 4 in that list, with each bucket being read by a separate partition reader.
  */
-class OpticMicroBatchStream implements MicroBatchStream {
+class OpticMicroBatchStream implements MicroBatchStream, SupportsTriggerAvailableNow {
 
     private static final Logger logger = LoggerFactory.getLogger(OpticMicroBatchStream.class);
 
     private OpticReadContext opticReadContext;
     private List<PlanAnalysis.Bucket> allBuckets;
-    private int bucketIndex;
+    private final int maxBucketsPerTrigger;
+
+    private final MicroBatchRanges microBatchRanges;
 
     OpticMicroBatchStream(OpticReadContext opticReadContext) {
         this.opticReadContext = opticReadContext;
         this.allBuckets = this.opticReadContext.getPlanAnalysis().getAllBuckets();
+        this.maxBucketsPerTrigger = opticReadContext.getIntOption(Options.READ_MAX_BUCKETS_PER_TRIGGER, 1, 1);
+        this.microBatchRanges = new MicroBatchRanges(allBuckets.size());
+    }
+
+    /**
+     * Buckets are counted as "files" in the default read limit, as Spark does not have a read limit that is more
+     * appropriate for a bucket.
+     */
+    @Override
+    public ReadLimit getDefaultReadLimit() {
+        return ReadLimit.maxFiles(maxBucketsPerTrigger);
+    }
+
+    @Override
+    public void prepareForTriggerAvailableNow() {
+        microBatchRanges.prepareForTriggerAvailableNow();
     }
 
     @Override
     public Offset latestOffset() {
-        if (bucketIndex >= this.allBuckets.size()) {
-            return null;
-        }
-        if (logger.isTraceEnabled()) {
-            logger.trace("Returning latest offset: {}", bucketIndex);
-        }
-        return new LongOffset(bucketIndex++);
+        throw new UnsupportedOperationException("latestOffset(Offset, ReadLimit) should be called instead of this method.");
+    }
+
+    @Override
+    public Offset latestOffset(Offset startOffset, ReadLimit limit) {
+        return microBatchRanges.latestOffset(startOffset, limit);
     }
 
     /**
-     * The offset is treated as the index of a bucket in the list of buckets. Thus, the concept of "start" and "end"
-     * isn't relevant here - just the "end" offset is needed, which identifies the next bucket to process.
+     * Each bucket between the start offset (inclusive) and the end offset (exclusive) is read by a separate partition
+     * reader, allowing for the buckets in a micro batch to be read in parallel.
      *
      * @param start
      * @param end
@@ -57,10 +75,14 @@ class OpticMicroBatchStream implements MicroBatchStream {
      */
     @Override
     public InputPartition[] planInputPartitions(Offset start, Offset end) {
-        int index = (int) ((LongOffset) end).offset();
-        return index >= allBuckets.size() ?
-            null :
-            new InputPartition[]{new PlanAnalysis.Partition(index + "", allBuckets.get(index))};
+        final int[] range = microBatchRanges.getIndexRange(start, end);
+        final int startIndex = range[0];
+        final int endIndex = range[1];
+        InputPartition[] partitions = new InputPartition[endIndex - startIndex];
+        for (int i = startIndex; i < endIndex; i++) {
+            partitions[i - startIndex] = new PlanAnalysis.Partition(i + "", allBuckets.get(i));
+        }
+        return partitions;
     }
 
     @Override
@@ -70,12 +92,12 @@ class OpticMicroBatchStream implements MicroBatchStream {
 
     @Override
     public Offset initialOffset() {
-        return new LongOffset(0);
+        return microBatchRanges.initialOffset();
     }
 
     @Override
     public Offset deserializeOffset(String json) {
-        return new LongOffset(Long.parseLong(json));
+        return microBatchRanges.deserializeOffset(json);
     }
 
     @Override
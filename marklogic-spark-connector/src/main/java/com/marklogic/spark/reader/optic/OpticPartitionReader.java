@@ -4,18 +4,25 @@
 
 package com.marklogic.spark.reader.optic;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.marklogic.client.row.RowManager;
+import com.marklogic.spark.ConnectorException;
 import com.marklogic.spark.ReadProgressLogger;
 import com.marklogic.spark.reader.JsonRowDeserializer;
 import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.connector.metric.CustomTaskMetric;
 import org.apache.spark.sql.connector.read.PartitionReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 class OpticPartitionReader implements PartitionReader<InternalRow> {
@@ -26,10 +33,16 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
     private final PlanAnalysis.Partition partition;
     private final RowManager rowManager;
 
-    private JsonRowDeserializer jsonRowDeserializer;
+    // Null when buckets are not prefetched.
+    private final BucketPrefetcher bucketPrefetcher;
 
-    private Iterator<JsonNode> rowIterator;
+    private final JsonRowDeserializer jsonRowDeserializer;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private BucketRowIterator rowIterator;
+    private PlanAnalysis.Bucket currentBucket;
     private int nextBucketIndex;
+    private final Deque<PlanAnalysis.Bucket> splitBuckets = new ArrayDeque<>();
     private int currentBucketRowCount;
 
     // Used solely for logging metrics
@@ -38,11 +51,17 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
     private long progressCounter;
     private final long batchSize;
 
+    // Reported to Spark as a task metric, as it can differ from the number of planned buckets due to splitting.
+    private long effectiveBucketCount;
+
     // Used solely for testing purposes; is never expected to be used in production. Intended to provide a way for
     // a test to get the count of rows returned from MarkLogic, which is important for ensuring that pushdown operations
     // are working correctly.
     static Consumer<Long> totalRowCountListener;
 
+    // Also used solely for testing purposes; provides the identifier of the partition and the number of buckets it read.
+    static BiConsumer<String, Long> bucketCountListener;
+
     OpticPartitionReader(OpticReadContext opticReadContext, PlanAnalysis.Partition partition) {
         this.opticReadContext = opticReadContext;
         this.batchSize = opticReadContext.getBatchSize();
@@ -52,6 +71,8 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
         // be in the rows.
         this.rowManager.setDatatypeStyle(RowManager.RowSetPart.HEADER);
         this.jsonRowDeserializer = new JsonRowDeserializer(opticReadContext.getSchema());
+        this.bucketPrefetcher = opticReadContext.getPrefetchBucketCount() > 0 && partition.getBuckets().size() > 1 ?
+            new BucketPrefetcher(opticReadContext, this.rowManager, partition) : null;
     }
 
     @Override
@@ -62,7 +83,7 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
             } else {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Count of rows for partition {} and bucket {}: {}", this.partition,
-                        this.partition.getBuckets().get(nextBucketIndex - 1), currentBucketRowCount);
+                        this.currentBucket, currentBucketRowCount);
                 }
                 currentBucketRowCount = 0;
             }
@@ -70,18 +91,30 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
 
         // Iterate through buckets until we find one with at least one row.
         while (true) {
-            boolean noBucketsLeftToQuery = nextBucketIndex == partition.getBuckets().size();
+            // Buckets produced by splitting a bucket are read before any remaining buckets in the partition.
+            final boolean readSplitBucket = !splitBuckets.isEmpty();
+            boolean noBucketsLeftToQuery = !readSplitBucket && nextBucketIndex == partition.getBuckets().size();
             if (noBucketsLeftToQuery) {
                 return false;
             }
 
-            PlanAnalysis.Bucket bucket = partition.getBuckets().get(nextBucketIndex);
-            nextBucketIndex++;
+            PlanAnalysis.Bucket bucket;
+            if (readSplitBucket) {
+                bucket = splitBuckets.removeFirst();
+            } else {
+                bucket = partition.getBuckets().get(nextBucketIndex);
+                nextBucketIndex++;
+            }
             long start = System.currentTimeMillis();
-            this.rowIterator = opticReadContext.readRowsInBucket(rowManager, partition, bucket);
+            this.rowIterator = readRowsInBucket(bucket, !readSplitBucket);
             if (logger.isDebugEnabled()) {
                 this.totalDuration += System.currentTimeMillis() - start;
             }
+            if (this.rowIterator == null) {
+                continue;
+            }
+            this.currentBucket = bucket;
+            this.effectiveBucketCount++;
             boolean bucketHasAtLeastOneRow = this.rowIterator.hasNext();
             if (bucketHasAtLeastOneRow) {
                 return true;
@@ -91,6 +124,20 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
 
     @Override
     public InternalRow get() {
+        countRow();
+        return rowIterator.next();
+    }
+
+    /**
+     * Used by {@code OpticColumnarPartitionReader} in place of {@code get()} to write the current row directly into
+     * a set of column vectors.
+     */
+    void writeCurrentRow(JsonColumnVectorWriter columnVectorWriter, int rowId) {
+        countRow();
+        rowIterator.writeNext(columnVectorWriter, rowId);
+    }
+
+    private void countRow() {
         this.currentBucketRowCount++;
         this.totalRowCount++;
         this.progressCounter++;
@@ -98,17 +145,66 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
             ReadProgressLogger.logProgressIfNecessary(this.progressCounter);
             this.progressCounter = 0;
         }
-        JsonNode row = rowIterator.next();
-        return this.jsonRowDeserializer.deserializeJson(row.toString());
+    }
+
+    /**
+     * @param bucket
+     * @param isPlannedBucket false if the bucket was produced by splitting a bucket, in which case it is never
+     *                        prefetched
+     * @return null if the bucket had too many rows and was split into smaller buckets instead
+     */
+    private BucketRowIterator readRowsInBucket(PlanAnalysis.Bucket bucket, boolean isPlannedBucket) {
+        try {
+            if (bucketPrefetcher != null && isPlannedBucket) {
+                return toRowIterator(bucket, bucketPrefetcher.nextBucket());
+            }
+            if (opticReadContext.shouldLimitRowsInBucket(bucket)) {
+                return toRowIterator(bucket, opticReadContext.readBucketAsBytes(rowManager, partition, bucket));
+            }
+            InputStream response = opticReadContext.readBucket(rowManager, partition, bucket);
+            return new BucketRowIterator(response != null ? jsonFactory.createParser(response) : null, jsonRowDeserializer);
+        } catch (IOException e) {
+            throw new ConnectorException(String.format("Unable to read rows; cause: %s", e.getMessage()), e);
+        }
+    }
+
+    private BucketRowIterator toRowIterator(PlanAnalysis.Bucket bucket, byte[] response) throws IOException {
+        if (opticReadContext.shouldLimitRowsInBucket(bucket) && response != null &&
+            BucketRowIterator.hasMoreRowsThan(jsonFactory.createParser(response), opticReadContext.getSplitBucketMaxRows())) {
+            List<PlanAnalysis.Bucket> subBuckets = bucket.split();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Bucket {} in partition {} has more than {} rows; splitting it into: {}", bucket,
+                    this.partition, opticReadContext.getSplitBucketMaxRows(), subBuckets);
+            }
+            for (int i = subBuckets.size() - 1; i >= 0; i--) {
+                splitBuckets.addFirst(subBuckets.get(i));
+            }
+            return null;
+        }
+        return new BucketRowIterator(response != null ? jsonFactory.createParser(response) : null, jsonRowDeserializer);
+    }
+
+    @Override
+    public CustomTaskMetric[] currentMetricsValues() {
+        return new CustomTaskMetric[]{BucketCountMetric.taskMetric(effectiveBucketCount)};
     }
 
     @Override
     public void close() {
+        if (rowIterator != null) {
+            rowIterator.close();
+        }
+        if (bucketPrefetcher != null) {
+            bucketPrefetcher.close();
+        }
         if (totalRowCountListener != null) {
             totalRowCountListener.accept(totalRowCount);
         }
+        if (bucketCountListener != null) {
+            bucketCountListener.accept(partition.getIdentifier(), effectiveBucketCount);
+        }
 
-        // Not yet certain how to make use of CustomTaskMetric, so just logging metrics of interest for now.
+        // The effective bucket count is reported via currentMetricsValues; the other metrics of interest are logged.
         logMetrics();
     }
 
@@ -117,7 +213,7 @@ class OpticPartitionReader implements PartitionReader<InternalRow> {
             double rowsPerSecond = totalRowCount > 0 ? totalRowCount / ((double) totalDuration / 1000) : 0;
             ObjectNode metrics = new ObjectMapper().createObjectNode()
                 .put("partitionId", this.partition.getIdentifier())
-                .put("totalRequests", this.partition.getBuckets().size())
+                .put("bucketCount", this.effectiveBucketCount)
                 .put("totalRowCount", this.totalRowCount)
                 .put("totalDuration", this.totalDuration)
                 .put("rowsPerSecond", String.format("%.2f", rowsPerSecond));
@@ -3,13 +3,18 @@
  */
 package com.marklogic.spark.reader.optic;
 
+import com.marklogic.spark.JsonRowSerializer;
+import com.marklogic.spark.Options;
 import org.apache.spark.sql.catalyst.InternalRow;
 import org.apache.spark.sql.connector.read.InputPartition;
 import org.apache.spark.sql.connector.read.PartitionReader;
 import org.apache.spark.sql.connector.read.PartitionReaderFactory;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+
 class OpticPartitionReaderFactory implements PartitionReaderFactory {
 
     static final long serialVersionUID = 1;
@@ -28,4 +33,23 @@ class OpticPartitionReaderFactory implements PartitionReaderFactory {
         }
         return new OpticPartitionReader(this.opticReadContext, (PlanAnalysis.Partition) partition);
     }
+
+    @Override
+    public boolean supportColumnarReads(InputPartition partition) {
+        return opticReadContext.isColumnarReadEnabled();
+    }
+
+    @Override
+    public PartitionReader<ColumnarBatch> createColumnarReader(InputPartition partition) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Creating columnar reader for partition: {}", partition);
+        }
+        return new OpticColumnarPartitionReader(
+            new OpticPartitionReader(this.opticReadContext, (PlanAnalysis.Partition) partition),
+            opticReadContext.getSchema(),
+            opticReadContext.getBooleanOption(Options.READ_COLUMNAR_OFF_HEAP, false),
+            // Uses the same time zone as the JacksonParser used by the row-based reader.
+            new JsonRowSerializer(opticReadContext.getSchema(), new HashMap<>()).getJsonOptions().zoneId()
+        );
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.marklogic.spark.ConnectorException;
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.types.StructType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches - within the Spark driver - the schema inferred for an Optic query and the analysis of its plan, such that
+ * repeatedly reading rows with the same query does not require repeating the calls to MarkLogic that produce them.
+ * Only used when {@code Options.READ_CACHE_TTL} is set. Entries are keyed by the query, the connection options, and
+ * any other options that affect the cached value.
+ */
+public abstract class OpticReadCache {
+
+    private static final Map<String, CacheEntry<StructType>> schemas = new ConcurrentHashMap<>();
+    private static final Map<String, CacheEntry<PlanAnalysis>> planAnalyses = new ConcurrentHashMap<>();
+
+    private OpticReadCache() {
+    }
+
+    /**
+     * Removes every cached schema and plan analysis. Intended to be used after a change to a TDE template that
+     * affects a cached query, as that will not be detected until the cached entry expires.
+     */
+    public static void clear() {
+        schemas.clear();
+        planAnalyses.clear();
+    }
+
+    public static StructType getSchema(Map<String, String> properties, long ttlSeconds) {
+        return get(schemas, buildKey(properties), ttlSeconds);
+    }
+
+    public static void putSchema(Map<String, String> properties, StructType schema) {
+        schemas.put(buildKey(properties), new CacheEntry<>(schema));
+    }
+
+    static PlanAnalysis getPlanAnalysis(Map<String, String> properties, long partitionCount, long batchSize, long ttlSeconds) {
+        return get(planAnalyses, buildPlanAnalysisKey(properties, partitionCount, batchSize), ttlSeconds);
+    }
+
+    /**
+     * A copy of the plan analysis is cached, as operations pushed down by Spark modify the plan in a plan analysis.
+     */
+    static void putPlanAnalysis(Map<String, String> properties, long partitionCount, long batchSize, PlanAnalysis planAnalysis) {
+        planAnalyses.put(buildPlanAnalysisKey(properties, partitionCount, batchSize),
+            new CacheEntry<>(planAnalysis.withServerTimestamp(planAnalysis.getServerTimestamp())));
+    }
+
+    static int size() {
+        return schemas.size() + planAnalyses.size();
+    }
+
+    private static <T> T get(Map<String, CacheEntry<T>> cache, String key, long ttlSeconds) {
+        CacheEntry<T> entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.createdAt > ttlSeconds * 1000) {
+            cache.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * The options for partitioning by a column determine the partitions and the plan of a plan analysis, and thus
+     * must be included in its key.
+     */
+    private static String buildPlanAnalysisKey(Map<String, String> properties, long partitionCount, long batchSize) {
+        return buildKey(properties, partitionCount, batchSize, properties.get(Options.READ_PARTITION_COLUMN),
+            properties.get(Options.READ_PARTITION_LOWER_BOUND), properties.get(Options.READ_PARTITION_UPPER_BOUND));
+    }
+
+    /**
+     * Builds a key from the Optic query and every connection option, which ensures that an entry is only used for
+     * the same query against the same database as the same user. The connection options include secrets such as a
+     * password, so the key is a SHA-256 hash of these values instead of the values themselves.
+     */
+    static String buildKey(Map<String, String> properties, Object... additionalValues) {
+        Map<String, String> keyProperties = new TreeMap<>();
+        properties.forEach((key, value) -> {
+            if (key.startsWith("spark.marklogic.client.") || key.equals(Options.READ_OPTIC_QUERY)) {
+                keyProperties.put(key, value);
+            }
+        });
+        StringBuilder key = new StringBuilder(keyProperties.toString());
+        for (Object value : additionalValues) {
+            key.append('|').append(value);
+        }
+        return hash(key.toString());
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java implementation is required to support SHA-256.
+            throw new ConnectorException("Unable to build key for Optic read cache: " + e.getMessage(), e);
+        }
+    }
+
+    private static class CacheEntry<T> {
+        private final T value;
+        private final long createdAt = System.currentTimeMillis();
+
+        CacheEntry(T value) {
+            this.value = value;
+        }
+    }
+}
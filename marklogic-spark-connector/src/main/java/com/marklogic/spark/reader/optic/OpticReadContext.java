@@ -3,11 +3,14 @@
  */
 package com.marklogic.spark.reader.optic;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.marklogic.client.DatabaseClient;
 import com.marklogic.client.FailedRequestException;
 import com.marklogic.client.expression.PlanBuilder;
 import com.marklogic.client.impl.DatabaseClientImpl;
+import com.marklogic.client.io.BytesHandle;
+import com.marklogic.client.io.Format;
+import com.marklogic.client.io.InputStreamHandle;
 import com.marklogic.client.io.JacksonHandle;
 import com.marklogic.client.row.RowManager;
 import com.marklogic.spark.ConnectorException;
@@ -22,6 +25,7 @@ import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
 
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,6 +49,17 @@ public class OpticReadContext extends ContextSupport {
     private StructType schema;
     private List<OpticFilter> opticFilters;
     private final long batchSize;
+    private final int prefetchBucketCount;
+    private final long prefetchMaxBytes;
+    private final int splitBucketMaxRows;
+
+    // Set when a limit or aggregation is pushed down, after which a filter can no longer be added to the end of the
+    // plan without changing which rows are returned.
+    private boolean rowsReducedByPushDown;
+    private Integer pushedDownLimit;
+
+    // The fraction of rows requested when a sample is pushed down; 1 if no sample is pushed down.
+    private double sampleFraction = 1;
 
     public OpticReadContext(Map<String, String> properties, StructType schema, int defaultMinPartitions) {
         super(properties);
@@ -56,6 +71,9 @@ public class OpticReadContext extends ContextSupport {
 
         this.schema = schema;
         this.batchSize = getNumericOption(Options.READ_BATCH_SIZE, DEFAULT_BATCH_SIZE, 0);
+        this.prefetchBucketCount = getIntOption(Options.READ_PREFETCH_BUCKETS, 0, 0);
+        this.prefetchMaxBytes = getNumericOption(Options.READ_PREFETCH_MAX_BYTES, 64L * 1024 * 1024, 1);
+        this.splitBucketMaxRows = getIntOption(Options.READ_SPLIT_BUCKET_MAX_ROWS, 0, 0);
         this.planAnalysis = analyzePlan(dslQuery, getNumericOption(Options.READ_NUM_PARTITIONS, defaultMinPartitions, 1));
 
         if (this.planAnalysis != null) {
@@ -70,10 +88,28 @@ public class OpticReadContext extends ContextSupport {
     }
 
     private PlanAnalysis analyzePlan(final String dslQuery, final long partitionCount) {
+        final long cacheTtl = getNumericOption(Options.READ_CACHE_TTL, 0, 0);
         DatabaseClient client = null;
         try {
             client = connectToMarkLogic();
-            return new PlanAnalyzer((DatabaseClientImpl) client).analyzePlan(dslQuery, partitionCount, batchSize);
+            PlanAnalyzer planAnalyzer = new PlanAnalyzer((DatabaseClientImpl) client);
+            if (cacheTtl > 0) {
+                PlanAnalysis cachedAnalysis = OpticReadCache.getPlanAnalysis(getProperties(), partitionCount, batchSize, cacheTtl);
+                if (cachedAnalysis != null) {
+                    Util.MAIN_LOGGER.info("Using cached analysis of Optic query.");
+                    // A query that is not partitioned does not need a server timestamp.
+                    return cachedAnalysis.getServerTimestamp() > 0 ?
+                        cachedAnalysis.withServerTimestamp(planAnalyzer.getServerTimestamp(dslQuery)) :
+                        cachedAnalysis.withServerTimestamp(0);
+                }
+            }
+            PlanAnalysis analysis = shouldPartitionByColumn(dslQuery) ?
+                analyzePlanWithPartitionColumn(planAnalyzer, dslQuery, partitionCount) :
+                planAnalyzer.analyzePlan(dslQuery, partitionCount, batchSize);
+            if (cacheTtl > 0) {
+                OpticReadCache.putPlanAnalysis(getProperties(), partitionCount, batchSize, analysis);
+            }
+            return analysis;
         } catch (FailedRequestException ex) {
             handlePlanAnalysisError(dslQuery, ex);
             return null;
@@ -84,6 +120,31 @@ public class OpticReadContext extends ContextSupport {
         }
     }
 
+    /**
+     * A partition column is only used for a query that cannot be partitioned by row ID.
+     */
+    private boolean shouldPartitionByColumn(String dslQuery) {
+        return hasOption(Options.READ_PARTITION_COLUMN) && !dslQuery.contains("op.fromView");
+    }
+
+    private PlanAnalysis analyzePlanWithPartitionColumn(PlanAnalyzer planAnalyzer, String dslQuery, long partitionCount) {
+        if (!hasOption(Options.READ_PARTITION_LOWER_BOUND, Options.READ_PARTITION_UPPER_BOUND)) {
+            throw new ConnectorException(String.format("Must define both '%s' and '%s' when '%s' is defined.",
+                getOptionNameForMessage(Options.READ_PARTITION_LOWER_BOUND),
+                getOptionNameForMessage(Options.READ_PARTITION_UPPER_BOUND),
+                getOptionNameForMessage(Options.READ_PARTITION_COLUMN)));
+        }
+        final long lowerBound = getNumericOption(Options.READ_PARTITION_LOWER_BOUND, 0, Long.MIN_VALUE);
+        final long upperBound = getNumericOption(Options.READ_PARTITION_UPPER_BOUND, 0, Long.MIN_VALUE);
+        if (lowerBound >= upperBound) {
+            throw new ConnectorException(String.format("The value of '%s' must be less than the value of '%s'.",
+                getOptionNameForMessage(Options.READ_PARTITION_LOWER_BOUND),
+                getOptionNameForMessage(Options.READ_PARTITION_UPPER_BOUND)));
+        }
+        return planAnalyzer.analyzePlanWithPartitionColumn(dslQuery, partitionCount,
+            getStringOption(Options.READ_PARTITION_COLUMN), lowerBound, upperBound);
+    }
+
     private void handlePlanAnalysisError(String query, FailedRequestException ex) {
         final String indicatorOfNoRowsExisting = "$tableId as xs:string -- Invalid coercion: () as xs:string";
         if (ex.getMessage().contains(indicatorOfNoRowsExisting)) {
@@ -93,7 +154,36 @@ public class OpticReadContext extends ContextSupport {
         }
     }
 
-    Iterator<JsonNode> readRowsInBucket(RowManager rowManager, PlanAnalysis.Partition partition, PlanAnalysis.Bucket bucket) {
+    /**
+     * Returns the response for a bucket as a stream so that its rows can be deserialized one at a time, without
+     * the entire response being read into memory first.
+     */
+    InputStream readBucket(RowManager rowManager, PlanAnalysis.Partition partition, PlanAnalysis.Bucket bucket) {
+        final PlanBuilder.Plan plan = prepareToReadBucket(rowManager, partition, bucket);
+        final InputStreamHandle streamHandle = new InputStreamHandle().withFormat(Format.JSON);
+        if (!bucket.isSingleCallToMarkLogic()) {
+            streamHandle.setPointInTimeQueryTimestamp(planAnalysis.getServerTimestamp());
+        }
+
+        // resultDoc has consistently proven to be a few percentage points faster than resultRows, which may be due
+        // to the overhead of processing a multipart response with the latter.
+        return rowManager.resultDoc(plan, streamHandle).get();
+    }
+
+    /**
+     * Returns the unparsed response for a bucket, which allows for the size of the response to be known before it is
+     * parsed. Used when buckets are prefetched.
+     */
+    byte[] readBucketAsBytes(RowManager rowManager, PlanAnalysis.Partition partition, PlanAnalysis.Bucket bucket) {
+        final PlanBuilder.Plan plan = prepareToReadBucket(rowManager, partition, bucket);
+        final BytesHandle bytesHandle = new BytesHandle().withFormat(Format.JSON);
+        if (!bucket.isSingleCallToMarkLogic()) {
+            bytesHandle.setPointInTimeQueryTimestamp(planAnalysis.getServerTimestamp());
+        }
+        return rowManager.resultDoc(plan, bytesHandle).get();
+    }
+
+    private PlanBuilder.Plan prepareToReadBucket(RowManager rowManager, PlanAnalysis.Partition partition, PlanAnalysis.Bucket bucket) {
         final long serverTimestamp = planAnalysis.getServerTimestamp();
         if (Util.MAIN_LOGGER.isDebugEnabled()) {
             if (serverTimestamp > 0) {
@@ -110,27 +200,23 @@ public class OpticReadContext extends ContextSupport {
             throw new ConnectorException(String.format("Unable to read rows; invalid server timestamp: %d", serverTimestamp));
         }
 
-        final PlanBuilder.Plan plan = buildPlanForBucket(rowManager, bucket);
-        final JacksonHandle jsonHandle = new JacksonHandle();
-        if (!bucket.isSingleCallToMarkLogic()) {
-            jsonHandle.setPointInTimeQueryTimestamp(serverTimestamp);
-        }
-
-        // Remarkably, the use of resultDoc has consistently proven to be a few percentage points faster than using
-        // resultRows with a StringHandle, even though the latter avoids the need for converting to and from a JsonNode.
-        // The overhead with resultRows may be due to the processing of a multipart response; it's not yet clear.
-        final JsonNode result = rowManager.resultDoc(plan, jsonHandle).get();
-        return result != null && result.has("rows") ?
-            result.get("rows").iterator() :
-            new ArrayList<JsonNode>().iterator();
+        return buildPlanForBucket(rowManager, bucket);
     }
 
     private PlanBuilder.Plan buildPlanForBucket(RowManager rowManager, PlanAnalysis.Bucket bucket) {
-        PlanBuilder.Plan plan = rowManager.newRawPlanDefinition(new JacksonHandle(planAnalysis.getSerializedPlan()));
-
-        if (!bucket.isSingleCallToMarkLogic()) {
-            plan = plan.bindParam("ML_LOWER_BOUND", bucket.lowerBound)
-                .bindParam("ML_UPPER_BOUND", bucket.upperBound);
+        // The limit allows for a bucket with too many rows to be detected without MarkLogic returning all of its rows.
+        ObjectNode serializedPlan = shouldLimitRowsInBucket(bucket) ?
+            planAnalysis.getSerializedPlanWithLimit(splitBucketMaxRows + 1) :
+            planAnalysis.getSerializedPlan();
+        PlanBuilder.Plan plan = rowManager.newRawPlanDefinition(new JacksonHandle(serializedPlan));
+
+        if (planAnalysis.getPartitionColumn() != null) {
+            // The bounds are compared to the values in the partition column, and thus must be bound as numbers.
+            plan = plan.bindParam(PlanAnalysis.LOWER_BOUND_PARAM, Long.parseLong(bucket.lowerBound))
+                .bindParam(PlanAnalysis.UPPER_BOUND_PARAM, Long.parseLong(bucket.upperBound));
+        } else if (!bucket.isSingleCallToMarkLogic()) {
+            plan = plan.bindParam(PlanAnalysis.LOWER_BOUND_PARAM, bucket.lowerBound)
+                .bindParam(PlanAnalysis.UPPER_BOUND_PARAM, bucket.upperBound);
         }
 
         if (opticFilters != null) {
@@ -143,14 +229,46 @@ public class OpticReadContext extends ContextSupport {
     }
 
     void pushDownFiltersIntoOpticQuery(List<OpticFilter> opticFilters) {
-        this.opticFilters = opticFilters;
+        // Filters may be pushed down both when the scan is built and when Spark applies runtime filters, so any
+        // previously pushed down filters must be retained for their values to be bound.
+        if (this.opticFilters == null) {
+            this.opticFilters = new ArrayList<>();
+        }
+        this.opticFilters.addAll(opticFilters);
         // Add each filter in a separate "where" so we don't toss an op.sqlCondition into an op.and,
         // which Optic does not allow.
         opticFilters.forEach(filter -> planAnalysis.pushOperatorIntoPlan(PlanUtil.buildWhere(filter)));
     }
 
+    /**
+     * A sample is pushed down by narrowing the range of row IDs of each bucket, as row IDs are randomly distributed.
+     * The seed determines where each narrowed range starts within its bucket so that different seeds produce
+     * different samples.
+     */
+    void pushDownSample(double lowerBound, double upperBound, long seed) {
+        final double fraction = upperBound - lowerBound;
+        final double startFraction = new Random(seed).nextDouble() * (1 - fraction);
+        List<PlanAnalysis.Partition> sampledPartitions = planAnalysis.getPartitions().stream()
+            .map(p -> p.sampleBuckets(startFraction, startFraction + fraction))
+            .collect(Collectors.toList());
+        this.planAnalysis = planAnalysis.withPartitions(sampledPartitions);
+        this.sampleFraction = fraction;
+    }
+
+    /**
+     * @return true if each bucket is defined by a range of row IDs, which is not the case for a query that does not
+     * use op.fromView
+     */
+    boolean canPushDownSample() {
+        return planAnalysis != null && planAnalysis.getPartitionColumn() == null &&
+            planAnalysis.getAllBuckets().stream().noneMatch(PlanAnalysis.Bucket::isSingleCallToMarkLogic);
+    }
+
     void pushDownLimit(int limit) {
         planAnalysis.pushOperatorIntoPlan(PlanUtil.buildLimit(limit));
+        this.rowsReducedByPushDown = true;
+        // Each bucket applies the limit, so the number of rows returned is at most the limit times the bucket count.
+        this.pushedDownLimit = limit;
     }
 
     void pushDownTopN(SortOrder[] orders, int limit) {
@@ -167,6 +285,7 @@ public class OpticReadContext extends ContextSupport {
             Util.MAIN_LOGGER.debug("groupBy column names: {}", groupByColumnNames);
         }
         planAnalysis.pushOperatorIntoPlan(PlanUtil.buildGroupByAggregation(new HashSet<>(groupByColumnNames), aggregation));
+        this.rowsReducedByPushDown = true;
 
         StructType newSchema = buildSchemaWithColumnNames(groupByColumnNames);
 
@@ -194,13 +313,13 @@ public class OpticReadContext extends ContextSupport {
             }
         }
 
-        if (!getProperties().containsKey(Options.READ_BATCH_SIZE)) {
-            Util.MAIN_LOGGER.info("Batch size was not overridden, so modifying each partition to make a single request to improve " +
-                "performance of pushed down aggregation.");
+        if (shouldMergeBucketsForAggregation()) {
+            Util.MAIN_LOGGER.info("Modifying each partition to make a single request to improve performance of pushed " +
+                "down aggregation.");
             List<PlanAnalysis.Partition> mergedPartitions = planAnalysis.getPartitions().stream()
                 .map(p -> p.mergeBuckets())
                 .collect(Collectors.toList());
-            this.planAnalysis = new PlanAnalysis(planAnalysis.getSerializedPlan(), mergedPartitions, planAnalysis.getServerTimestamp());
+            this.planAnalysis = planAnalysis.withPartitions(mergedPartitions);
         }
 
         if (Util.MAIN_LOGGER.isDebugEnabled()) {
@@ -209,6 +328,27 @@ public class OpticReadContext extends ContextSupport {
         this.schema = newSchema;
     }
 
+    /**
+     * Each partition makes a single request for a pushed down aggregation if the user has asked for that, or by
+     * default when the user has not set a batch size. Otherwise, each bucket returns its own partial aggregates.
+     */
+    private boolean shouldMergeBucketsForAggregation() {
+        final boolean batchSizeNotSet = !getProperties().containsKey(Options.READ_BATCH_SIZE);
+        // Merging the buckets of a pushed down sample would include the row IDs between the sampled ranges.
+        return sampleFraction >= 1 && getBooleanOption(Options.READ_MERGE_BUCKETS_FOR_AGGREGATES, batchSizeNotSet);
+    }
+
+    /**
+     * @return the number of requests that will be made to MarkLogic if an aggregation is pushed down, which accounts
+     * for buckets being merged into a single request per partition
+     */
+    long getBucketCountForAggregation() {
+        if (planAnalysis == null) {
+            return 0;
+        }
+        return shouldMergeBucketsForAggregation() ? planAnalysis.getPartitions().size() : getBucketCount();
+    }
+
     private StructType buildSchemaWithColumnNames(List<String> groupByColumnNames) {
         StructType newSchema = new StructType();
         for (String columnName : groupByColumnNames) {
@@ -241,6 +381,37 @@ public class OpticReadContext extends ContextSupport {
         planAnalysis.pushOperatorIntoPlan(PlanUtil.buildSelect(requiredSchema));
     }
 
+    /**
+     * Runtime filters are added to the end of the plan, which is only equivalent to Spark applying them to the
+     * returned rows if a limit or aggregation has not already been pushed down.
+     */
+    boolean canPushDownRuntimeFilters() {
+        return planAnalysis != null && !rowsReducedByPushDown;
+    }
+
+    /**
+     * Estimates the number of rows that will be returned based on the number of rows in the view and any pushed down
+     * sample or limit. Pushed down filters and aggregations are not accounted for, so this is typically an
+     * overestimate, which ensures that Spark will not choose to broadcast rows that are too large to be broadcast.
+     *
+     * @return an empty value if the row count is not known, which is the case for a query that does not use
+     * op.fromView or that joins or unions the view with other rows
+     */
+    OptionalLong estimateRowCount() {
+        if (planAnalysis == null) {
+            return OptionalLong.of(0);
+        }
+        long rowCount = planAnalysis.getRowCount();
+        if (rowCount < 0 || planAnalysis.hasRowCombiningOperator()) {
+            return OptionalLong.empty();
+        }
+        rowCount = (long) Math.ceil(rowCount * sampleFraction);
+        if (pushedDownLimit != null) {
+            rowCount = Math.min(rowCount, (long) pushedDownLimit * getBucketCount());
+        }
+        return OptionalLong.of(rowCount);
+    }
+
     boolean planAnalysisFoundNoRows() {
         // The planAnalysis will be null if no rows were found, which internal/viewinfo unfortunately throws an error
         // on. None of the push down operations need to be applied in this scenario.
@@ -255,6 +426,38 @@ public class OpticReadContext extends ContextSupport {
         return planAnalysis;
     }
 
+    int getPrefetchBucketCount() {
+        return prefetchBucketCount;
+    }
+
+    long getPrefetchMaxBytes() {
+        return prefetchMaxBytes;
+    }
+
+    boolean isBucketSplittingEnabled() {
+        return splitBucketMaxRows > 0;
+    }
+
+    int getSplitBucketMaxRows() {
+        return splitBucketMaxRows;
+    }
+
+    /**
+     * A bucket that cannot be split any further is read without a limit so that all of its rows are returned.
+     */
+    boolean shouldLimitRowsInBucket(PlanAnalysis.Bucket bucket) {
+        // A bucket can only be split when it is defined by a range of row IDs.
+        return isBucketSplittingEnabled() && planAnalysis.getPartitionColumn() == null && bucket.canBeSplit();
+    }
+
+    /**
+     * Columnar reads are only used when the user has enabled them and every column in the schema - which may have
+     * been modified by a pushed down aggregation or required columns - can be written to a column vector.
+     */
+    boolean isColumnarReadEnabled() {
+        return getBooleanOption(Options.READ_COLUMNAR, false) && JsonColumnVectorWriter.supportsSchema(schema);
+    }
+
     long getBucketCount() {
         return planAnalysis != null ? planAnalysis.getAllBuckets().size() : 0;
     }
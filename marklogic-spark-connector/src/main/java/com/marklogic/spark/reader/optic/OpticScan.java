@@ -4,14 +4,28 @@
 
 package com.marklogic.spark.reader.optic;
 
+import com.marklogic.spark.reader.filter.FilterFactory;
+import com.marklogic.spark.reader.filter.OpticFilter;
+import org.apache.spark.sql.connector.expressions.Expressions;
+import org.apache.spark.sql.connector.expressions.NamedReference;
+import org.apache.spark.sql.connector.expressions.filter.Predicate;
+import org.apache.spark.sql.connector.metric.CustomMetric;
 import org.apache.spark.sql.connector.read.Batch;
 import org.apache.spark.sql.connector.read.Scan;
+import org.apache.spark.sql.connector.read.Statistics;
+import org.apache.spark.sql.connector.read.SupportsReportStatistics;
+import org.apache.spark.sql.connector.read.SupportsRuntimeV2Filtering;
 import org.apache.spark.sql.connector.read.streaming.MicroBatchStream;
 import org.apache.spark.sql.types.StructType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-class OpticScan implements Scan {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+class OpticScan implements Scan, SupportsRuntimeV2Filtering, SupportsReportStatistics {
 
     private static final Logger logger = LoggerFactory.getLogger(OpticScan.class);
 
@@ -31,6 +45,76 @@ class OpticScan implements Scan {
         return Scan.super.description();
     }
 
+    @Override
+    public CustomMetric[] supportedCustomMetrics() {
+        return new CustomMetric[]{new BucketCountMetric()};
+    }
+
+    /**
+     * Reports the number of rows in the view, as determined when the plan was analyzed, so that Spark can decide
+     * whether to broadcast the rows when joining them with another dataset. The size is estimated via Spark's
+     * default size for each column in the schema, which is the same approach Spark uses for estimating the size of a
+     * row when it does not have statistics for the row.
+     */
+    @Override
+    public Statistics estimateStatistics() {
+        final OptionalLong rowCount = opticReadContext.estimateRowCount();
+        final OptionalLong sizeInBytes = rowCount.isPresent() ?
+            OptionalLong.of(rowCount.getAsLong() * opticReadContext.getSchema().defaultSize()) :
+            OptionalLong.empty();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Estimated row count: {}; estimated size in bytes: {}", rowCount, sizeInBytes);
+        }
+        return new Statistics() {
+            @Override
+            public OptionalLong sizeInBytes() {
+                return sizeInBytes;
+            }
+
+            @Override
+            public OptionalLong numRows() {
+                return rowCount;
+            }
+        };
+    }
+
+    /**
+     * Allows Spark to push down filters at runtime on any column - most notably the values of a join key from the
+     * other side of a join, which Spark produces as an "in" predicate.
+     */
+    @Override
+    public NamedReference[] filterAttributes() {
+        if (!opticReadContext.canPushDownRuntimeFilters()) {
+            return new NamedReference[0];
+        }
+        return Stream.of(opticReadContext.getSchema().fieldNames())
+            // Column names may contain periods, so each is quoted to avoid it being treated as a nested field.
+            .map(name -> Expressions.column(String.format("`%s`", name.replace("`", "``"))))
+            .toArray(NamedReference[]::new);
+    }
+
+    @Override
+    public void filter(Predicate[] predicates) {
+        if (!opticReadContext.canPushDownRuntimeFilters()) {
+            return;
+        }
+        List<OpticFilter> opticFilters = new ArrayList<>();
+        for (Predicate predicate : predicates) {
+            OpticFilter opticFilter = FilterFactory.toPlanFilter(predicate);
+            if (opticFilter != null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Pushing down runtime filter: {}", predicate.describe());
+                }
+                opticFilters.add(opticFilter);
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Unsupported runtime filter, will be handled by Spark: {}", predicate.describe());
+            }
+        }
+        if (!opticFilters.isEmpty()) {
+            opticReadContext.pushDownFiltersIntoOpticQuery(opticFilters);
+        }
+    }
+
     @Override
     public Batch toBatch() {
         if (logger.isTraceEnabled()) {
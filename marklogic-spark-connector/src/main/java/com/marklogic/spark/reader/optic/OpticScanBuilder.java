@@ -19,7 +19,7 @@ import java.util.*;
 import java.util.stream.Stream;
 
 public class OpticScanBuilder implements ScanBuilder, SupportsPushDownFilters, SupportsPushDownLimit,
-    SupportsPushDownTopN, SupportsPushDownAggregates, SupportsPushDownRequiredColumns {
+    SupportsPushDownTopN, SupportsPushDownAggregates, SupportsPushDownRequiredColumns, SupportsPushDownTableSample {
 
     private static final Logger logger = LoggerFactory.getLogger(OpticScanBuilder.class);
 
@@ -94,6 +94,24 @@ public class OpticScanBuilder implements ScanBuilder, SupportsPushDownFilters, S
         return pushedFilters.toArray(new Filter[0]);
     }
 
+    @Override
+    public boolean pushTableSample(double lowerBound, double upperBound, boolean withReplacement, long seed) {
+        if (opticReadContext.planAnalysisFoundNoRows()) {
+            return false;
+        }
+        if (withReplacement || !opticReadContext.canPushDownSample()) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to push down sample, will be handled by Spark; with replacement: {}", withReplacement);
+            }
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Pushing down sample; lower bound: {}; upper bound: {}; seed: {}", lowerBound, upperBound, seed);
+        }
+        opticReadContext.pushDownSample(lowerBound, upperBound, seed);
+        return true;
+    }
+
     @Override
     public boolean pushLimit(int limit) {
         if (opticReadContext.planAnalysisFoundNoRows()) {
@@ -125,8 +143,9 @@ public class OpticScanBuilder implements ScanBuilder, SupportsPushDownFilters, S
     public boolean isPartiallyPushed() {
         // If a single bucket exists - i.e. a single call will be made to MarkLogic - then any limit/orderBy can be
         // fully pushed down to MarkLogic. Otherwise, we also need Spark to apply the limit/orderBy to the returned rows
-        // to ensure that the user receives the correct response.
-        return opticReadContext.getBucketCount() > 1;
+        // to ensure that the user receives the correct response. The same is true when a bucket may be split, as each
+        // of its sub-buckets is then read with the limit/orderBy via a separate call to MarkLogic.
+        return opticReadContext.getBucketCount() > 1 || opticReadContext.isBucketSplittingEnabled();
     }
 
     /**
@@ -134,6 +153,8 @@ public class OpticScanBuilder implements ScanBuilder, SupportsPushDownFilters, S
      * possible if every aggregation function is supported and if only one request will be made to MarkLogic. If
      * multiple requests are made to MarkLogic (based on the user-defined partition count and batch size), then
      * Spark has to apply the aggregation against the combined set of rows returned from all requests to MarkLogic.
+     * In that scenario, Spark will rewrite an "avg" into a "sum" and a "count" before calling pushAggregation, such
+     * that each request returns partial aggregates that Spark can merge correctly.
      *
      * @param aggregation
      * @return
@@ -152,13 +173,21 @@ public class OpticScanBuilder implements ScanBuilder, SupportsPushDownFilters, S
             return false;
         }
 
-        if (opticReadContext.getBucketCount() > 1) {
+        if (opticReadContext.isBucketSplittingEnabled()) {
             if (Util.MAIN_LOGGER.isInfoEnabled()) {
-                Util.MAIN_LOGGER.info("Multiple requests will be made to MarkLogic; aggregation will be applied by Spark as well: {}",
+                Util.MAIN_LOGGER.info("Requests to MarkLogic may be split; aggregation will be applied by Spark as well: {}",
                     describeAggregation(aggregation));
             }
             return false;
         }
+
+        if (opticReadContext.getBucketCountForAggregation() > 1) {
+            if (Util.MAIN_LOGGER.isInfoEnabled()) {
+                Util.MAIN_LOGGER.info("Multiple requests will be made to MarkLogic; each will return partial aggregates " +
+                    "that will be merged by Spark: {}", describeAggregation(aggregation));
+            }
+            return false;
+        }
         return true;
     }
 
@@ -10,6 +10,8 @@ import com.marklogic.spark.Util;
 import org.apache.spark.sql.connector.read.InputPartition;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -25,14 +27,34 @@ class PlanAnalysis implements Serializable {
 
     static final long serialVersionUID = 1;
 
+    // The names of the parameters bound to the lower and upper bounds of each bucket.
+    static final String LOWER_BOUND_PARAM = "ML_LOWER_BOUND";
+    static final String UPPER_BOUND_PARAM = "ML_UPPER_BOUND";
+
     private final ObjectNode serializedPlan;
     private final List<Partition> partitions;
     private final long serverTimestamp;
 
+    // The number of rows in the view as reported by MarkLogic; -1 if not known.
+    private final long rowCount;
+
+    // The column whose values define the bounds of each bucket; null if the bounds are row IDs.
+    private final String partitionColumn;
+
     PlanAnalysis(ObjectNode serializedPlan, List<Partition> partitions, long serverTimestamp) {
+        this(serializedPlan, partitions, serverTimestamp, -1);
+    }
+
+    PlanAnalysis(ObjectNode serializedPlan, List<Partition> partitions, long serverTimestamp, long rowCount) {
+        this(serializedPlan, partitions, serverTimestamp, rowCount, null);
+    }
+
+    PlanAnalysis(ObjectNode serializedPlan, List<Partition> partitions, long serverTimestamp, long rowCount, String partitionColumn) {
         this.serializedPlan = serializedPlan;
         this.partitions = partitions;
         this.serverTimestamp = serverTimestamp;
+        this.rowCount = rowCount;
+        this.partitionColumn = partitionColumn;
     }
 
 
@@ -60,14 +82,77 @@ class PlanAnalysis implements Serializable {
         return lastOperator.has("fn") && "prepare".equals(lastOperator.get("fn").asText());
     }
 
+    /**
+     * Returns a copy of the serialized plan with a limit added to the end of it, which is used to cap the number of
+     * rows that can be returned for a single bucket. The copy ensures that operators pushed down afterwards are still
+     * added before the limit.
+     *
+     * @param limit
+     */
+    ObjectNode getSerializedPlanWithLimit(int limit) {
+        ObjectNode plan = serializedPlan.deepCopy();
+        ArrayNode operators = (ArrayNode) plan.get("$optic").get("args");
+        int index = isLastOperatorAPrepareCall(operators) ? operators.size() - 1 : operators.size();
+        operators.insert(index, PlanUtil.buildLimit(limit));
+        return plan;
+    }
+
     long getServerTimestamp() {
         return serverTimestamp;
     }
 
+    /**
+     * @return a copy of this plan analysis with the given server timestamp; the plan is copied as well so that
+     * operators pushed into one copy do not affect the other
+     */
+    PlanAnalysis withServerTimestamp(long newServerTimestamp) {
+        return new PlanAnalysis(serializedPlan.deepCopy(), partitions, newServerTimestamp, rowCount, partitionColumn);
+    }
+
+    /**
+     * @return a copy of this plan analysis with the given partitions, sharing the same plan
+     */
+    PlanAnalysis withPartitions(List<Partition> newPartitions) {
+        return new PlanAnalysis(serializedPlan, newPartitions, serverTimestamp, rowCount, partitionColumn);
+    }
+
+    String getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
     ObjectNode getSerializedPlan() {
         return serializedPlan;
     }
 
+    /**
+     * @return true if the plan has an operator - a join, union, intersect, or except - that combines the rows of the
+     * view with other rows, in which case the number of rows in the view is not an estimate of the rows returned by
+     * the plan
+     */
+    boolean hasRowCombiningOperator() {
+        return hasRowCombiningOperator(serializedPlan);
+    }
+
+    private static boolean hasRowCombiningOperator(JsonNode node) {
+        if (node.isObject() && node.has("fn")) {
+            String fn = node.get("fn").asText().replace("-", "").toLowerCase();
+            if (fn.contains("join") || "union".equals(fn) || "intersect".equals(fn) || "except".equals(fn)) {
+                return true;
+            }
+        }
+        // Iterates over the values of an object and the elements of an array, which includes any nested plans.
+        for (JsonNode child : node) {
+            if (hasRowCombiningOperator(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     List<Partition> getPartitions() {
         return partitions;
     }
@@ -122,6 +207,11 @@ class PlanAnalysis implements Serializable {
             this.buckets = bucket != null ? Arrays.asList(bucket) : new ArrayList<>();
         }
 
+        private Partition(String identifier, List<Bucket> buckets) {
+            this.identifier = identifier;
+            this.buckets = buckets;
+        }
+
         /**
          * Similar to a copy constructor; used to construct a new Partition with a single bucket based on the
          * buckets in the given Partition.
@@ -137,6 +227,21 @@ class PlanAnalysis implements Serializable {
             return new Partition(identifier, new Bucket(lowerBound, upperBound));
         }
 
+        /**
+         * Constructs a new Partition where each bucket only covers the given fraction of the original bucket's range
+         * of row IDs. As row IDs are randomly distributed, each bucket will then return approximately that fraction
+         * of its rows.
+         *
+         * @param startFraction where each sampled range starts, relative to the start of its bucket's range
+         * @param endFraction   where each sampled range ends, relative to the start of its bucket's range
+         * @return
+         */
+        Partition sampleBuckets(double startFraction, double endFraction) {
+            List<Bucket> sampledBuckets = new ArrayList<>();
+            buckets.forEach(bucket -> sampledBuckets.add(bucket.sample(startFraction, endFraction)));
+            return new Partition(identifier, sampledBuckets);
+        }
+
         public String getIdentifier() {
             return identifier;
         }
@@ -159,6 +264,9 @@ class PlanAnalysis implements Serializable {
 
         static final long serialVersionUID = 1;
 
+        // The number of sub-buckets that a bucket is split into when it has too many rows.
+        private static final int SPLIT_COUNT = 4;
+
         final String lowerBound;
         final String upperBound;
 
@@ -171,6 +279,45 @@ class PlanAnalysis implements Serializable {
             return "0".equals(lowerBound) && "0".equals(upperBound);
         }
 
+        Bucket sample(double startFraction, double endFraction) {
+            final BigInteger lower = new BigInteger(lowerBound);
+            final BigDecimal rangeSize = new BigDecimal(new BigInteger(upperBound).subtract(lower));
+            BigInteger start = lower.add(rangeSize.multiply(BigDecimal.valueOf(startFraction)).toBigInteger());
+            BigInteger end = lower.add(rangeSize.multiply(BigDecimal.valueOf(endFraction)).toBigInteger());
+            return new Bucket(start.toString(), end.toString());
+        }
+
+        /**
+         * @return true if the bucket's range of row IDs is large enough to be split into smaller buckets
+         */
+        boolean canBeSplit() {
+            if (isSingleCallToMarkLogic()) {
+                return false;
+            }
+            long rangeSize = Long.parseUnsignedLong(upperBound) - Long.parseUnsignedLong(lowerBound);
+            return Long.compareUnsigned(Long.divideUnsigned(rangeSize, SPLIT_COUNT), SPLIT_COUNT) >= 0;
+        }
+
+        /**
+         * Splits the bucket's range of row IDs into contiguous sub-ranges, following the same approach used to
+         * divide a partition into buckets.
+         *
+         * @return the sub-buckets, in order of their row IDs
+         */
+        List<Bucket> split() {
+            final long lower = Long.parseUnsignedLong(lowerBound);
+            final long upper = Long.parseUnsignedLong(upperBound);
+            final long subBucketSize = Long.divideUnsigned(upper - lower, SPLIT_COUNT);
+            List<Bucket> subBuckets = new ArrayList<>();
+            long nextLowerBound = lower;
+            for (int i = 1; i <= SPLIT_COUNT; i++) {
+                long nextUpperBound = (i == SPLIT_COUNT) ? upper : nextLowerBound + subBucketSize;
+                subBuckets.add(new Bucket(Long.toUnsignedString(nextLowerBound), Long.toUnsignedString(nextUpperBound)));
+                nextLowerBound = nextLowerBound + subBucketSize + 1;
+            }
+            return subBuckets;
+        }
+
         // Only intended to help with debug logging
         public String toString() {
             return String.format("[%s:%s]", lowerBound, upperBound);
@@ -12,6 +12,7 @@ import com.marklogic.client.row.RawQueryDSLPlan;
 import com.marklogic.client.row.RowManager;
 import com.marklogic.spark.Util;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -19,7 +20,8 @@ import java.util.List;
 /**
  * Produces one or more partitions for breaking a user's Optic DSL query up - unless it does not use "op.fromView", in
  * which case a single call will be made to MarkLogic for the query. This is due to the "internal/view-info" endpoint
- * only supporting partitioning on "op.fromView" queries as of MarkLogic 12 EA1.
+ * only supporting partitioning on "op.fromView" queries as of MarkLogic 12 EA1. Such a query can instead be
+ * partitioned on the values in a user-defined column.
  */
 class PlanAnalyzer {
 
@@ -53,22 +55,68 @@ class PlanAnalyzer {
         long rowCount = viewInfo.get("rowCount").asLong(0);
         List<PlanAnalysis.Partition> partitions = calculatePartitions(rowCount, userPartitionCount, userBatchSize);
 
-        // Establish a server timestamp so each call to get rows is at the same timestamp.
-        long serverTimestamp = databaseClient.newRowManager().columnInfo(dslPlan, new StringHandle()).getServerTimestamp();
-        return new PlanAnalysis((ObjectNode) viewInfo.get("modifiedPlan"), partitions, serverTimestamp);
+        return new PlanAnalysis((ObjectNode) viewInfo.get("modifiedPlan"), partitions, getServerTimestamp(dslQuery), rowCount);
+    }
+
+    /**
+     * Establishes a server timestamp so each call to get rows is at the same timestamp. Also used to refresh the
+     * timestamp of a cached plan analysis.
+     */
+    long getServerTimestamp(String dslQuery) {
+        RawQueryDSLPlan dslPlan = rowManager.newRawQueryDSLPlan(new StringHandle(dslQuery));
+        return rowManager.columnInfo(dslPlan, new StringHandle()).getServerTimestamp();
+    }
+
+    /**
+     * Partitions a query that does not use "op.fromView" by adding a "where" to it that constrains the values of the
+     * given numeric column. Each partition has a single bucket whose bounds are bound to the "where" when the
+     * partition is read. As with Spark's JDBC data source, the lower and upper bounds only determine the stride of
+     * each partition; rows with values outside the bounds are still read by the first and last partitions.
+     */
+    PlanAnalysis analyzePlanWithPartitionColumn(String dslQuery, long userPartitionCount, String partitionColumn,
+                                                long lowerBound, long upperBound) {
+        if (Util.MAIN_LOGGER.isInfoEnabled()) {
+            Util.MAIN_LOGGER.info("Optic query does not contain 'op.fromView', so will partition it based on values in column: {}", partitionColumn);
+        }
+
+        ObjectNode plan = exportPlan(dslQuery);
+        List<PlanAnalysis.Partition> partitions = calculateColumnPartitions(partitionColumn, lowerBound, upperBound, userPartitionCount);
+        PlanAnalysis planAnalysis = new PlanAnalysis(plan, partitions, getServerTimestamp(dslQuery), -1, partitionColumn);
+        planAnalysis.pushOperatorIntoPlan(PlanUtil.buildColumnRangeWhere(partitionColumn));
+        return planAnalysis;
+    }
+
+    static List<PlanAnalysis.Partition> calculateColumnPartitions(String partitionColumn, long lowerBound, long upperBound, long userPartitionCount) {
+        final BigInteger range = BigInteger.valueOf(upperBound).subtract(BigInteger.valueOf(lowerBound));
+        // Avoids creating partitions that could not have any values in them.
+        final long partitionCount = range.min(BigInteger.valueOf(userPartitionCount)).longValue();
+        final BigInteger stride = range.divide(BigInteger.valueOf(partitionCount));
+
+        List<PlanAnalysis.Partition> partitions = new ArrayList<>();
+        BigInteger nextLowerBound = BigInteger.valueOf(lowerBound);
+        for (int i = 1; i <= partitionCount; i++) {
+            BigInteger nextUpperBound = nextLowerBound.add(stride);
+            String lower = i == 1 ? Long.toString(Long.MIN_VALUE) : nextLowerBound.toString();
+            String upper = i == partitionCount ? Long.toString(Long.MAX_VALUE) : nextUpperBound.toString();
+            String identifier = String.format("[number: %d; column: %s; lower bound: %s; upper bound: %s]", i, partitionColumn, lower, upper);
+            partitions.add(new PlanAnalysis.Partition(identifier, new PlanAnalysis.Bucket(lower, upper)));
+            nextLowerBound = nextUpperBound;
+        }
+        return partitions;
     }
 
     private PlanAnalysis readRowsInSingleCallToMarkLogic(String dslQuery) {
         if (Util.MAIN_LOGGER.isInfoEnabled()) {
             Util.MAIN_LOGGER.info("Optic query does not contain 'op.fromView', so will read rows in a single call to MarkLogic.");
         }
+        return new PlanAnalysis(exportPlan(dslQuery), Arrays.asList(PlanAnalysis.Partition.singleCallPartition()), 0);
+    }
 
-        ObjectNode plan = (ObjectNode) databaseClient.newServerEval()
+    private ObjectNode exportPlan(String dslQuery) {
+        return (ObjectNode) databaseClient.newServerEval()
             .javascript(PLAN_EXPORT_QUERY)
             .addVariable("dslQuery", dslQuery)
             .evalAs(JsonNode.class);
-
-        return new PlanAnalysis(plan, Arrays.asList(PlanAnalysis.Partition.singleCallPartition()), 0);
     }
 
     static List<PlanAnalysis.Partition> calculatePartitions(final long rowCount, final long userPartitionCount, final long userBatchSize) {
@@ -3,6 +3,7 @@
  */
 package com.marklogic.spark.reader.optic;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -175,6 +176,46 @@ public abstract class PlanUtil {
             columnName;
     }
 
+    /**
+     * Builds a "where" that restricts rows to those whose value in the given column is greater than or equal to the
+     * ML_LOWER_BOUND parameter and less than the ML_UPPER_BOUND parameter. A lower bound of Long.MIN_VALUE also
+     * includes rows with no value in the column, and an upper bound of Long.MAX_VALUE has no limit. This allows for
+     * each partition of a query to be defined solely by the values bound to the two parameters.
+     *
+     * @param columnName
+     * @return
+     */
+    static ObjectNode buildColumnRangeWhere(String columnName) {
+        return newOperation("where", args -> {
+            ArrayNode orArgs = args.addObject().put("ns", "op").put("fn", "or").putArray("args");
+
+            ArrayNode nullArgs = orArgs.addObject().put("ns", "op").put("fn", "and").putArray("args");
+            addComparison(nullArgs, "eq", param(PlanAnalysis.LOWER_BOUND_PARAM), objectMapper.getNodeFactory().numberNode(Long.MIN_VALUE));
+            populateSchemaCol(nullArgs.addObject().put("ns", "op").put("fn", "not").putArray("args")
+                .addObject().put("ns", "op").put("fn", "is-defined").putArray("args").addObject(), columnName);
+
+            ArrayNode rangeArgs = orArgs.addObject().put("ns", "op").put("fn", "and").putArray("args");
+            ObjectNode column = objectMapper.createObjectNode();
+            populateSchemaCol(column, columnName);
+            addComparison(rangeArgs, "ge", column, param(PlanAnalysis.LOWER_BOUND_PARAM));
+            ArrayNode upperArgs = rangeArgs.addObject().put("ns", "op").put("fn", "or").putArray("args");
+            addComparison(upperArgs, "lt", column.deepCopy(), param(PlanAnalysis.UPPER_BOUND_PARAM));
+            addComparison(upperArgs, "eq", param(PlanAnalysis.UPPER_BOUND_PARAM), objectMapper.getNodeFactory().numberNode(Long.MAX_VALUE));
+        });
+    }
+
+    private static ObjectNode param(String name) {
+        ObjectNode param = objectMapper.createObjectNode().put("ns", "op").put("fn", "param");
+        param.putArray("args").add(name);
+        return param;
+    }
+
+    private static void addComparison(ArrayNode args, String functionName, JsonNode left, JsonNode right) {
+        ArrayNode comparisonArgs = args.addObject().put("ns", "op").put("fn", functionName).putArray("args");
+        comparisonArgs.add(left);
+        comparisonArgs.add(right);
+    }
+
     static ObjectNode buildWhere(OpticFilter filter) {
         return newOperation("where", args -> filter.populateArg(args.addObject()));
     }
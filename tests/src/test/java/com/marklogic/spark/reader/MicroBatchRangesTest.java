@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader;
+
+import com.marklogic.spark.ConnectorException;
+import org.apache.spark.sql.connector.read.streaming.Offset;
+import org.apache.spark.sql.connector.read.streaming.ReadLimit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatchRangesTest {
+
+    @Test
+    void maxItemsPerMicroBatch() {
+        MicroBatchRanges ranges = new MicroBatchRanges(5);
+        Offset start = ranges.initialOffset();
+
+        Offset end = ranges.latestOffset(start, ReadLimit.maxFiles(2));
+        assertArrayEquals(new int[]{0, 2}, ranges.getIndexRange(start, end));
+
+        start = end;
+        end = ranges.latestOffset(start, ReadLimit.maxFiles(2));
+        assertArrayEquals(new int[]{2, 4}, ranges.getIndexRange(start, end));
+
+        start = end;
+        end = ranges.latestOffset(start, ReadLimit.maxFiles(2));
+        assertArrayEquals(new int[]{4, 5}, ranges.getIndexRange(start, end));
+
+        assertNull(ranges.latestOffset(end, ReadLimit.maxFiles(2)), "Null is returned once every item has been read.");
+    }
+
+    @Test
+    void allAvailable() {
+        MicroBatchRanges ranges = new MicroBatchRanges(5);
+        Offset end = ranges.latestOffset(ranges.initialOffset(), ReadLimit.allAvailable());
+        assertArrayEquals(new int[]{0, 5}, ranges.getIndexRange(ranges.initialOffset(), end));
+    }
+
+    @Test
+    void roundTrip() {
+        MicroBatchRanges ranges = new MicroBatchRanges(5);
+        Offset offset = ranges.latestOffset(ranges.initialOffset(), ReadLimit.maxFiles(3));
+        assertEquals("{\"itemsRead\":3}", offset.json());
+        assertEquals(offset, ranges.deserializeOffset(offset.json()));
+    }
+
+    @Test
+    void offsetFromEarlierRelease() {
+        MicroBatchRanges ranges = new MicroBatchRanges(5);
+        ConnectorException ex = assertThrows(ConnectorException.class, () -> ranges.deserializeOffset("3"));
+        assertTrue(ex.getMessage().startsWith("Unsupported offset for streaming from MarkLogic: 3"), ex.getMessage());
+    }
+}
@@ -13,6 +13,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -125,6 +129,36 @@ class ReadStreamWithCustomCodeTest extends AbstractIntegrationTest {
         }
     }
 
+    @Test
+    void multiplePartitionsPerMicroBatch(@TempDir Path tempDir) throws Exception {
+        List<List<String>> microBatches = Collections.synchronizedList(new ArrayList<>());
+
+        newSparkSession()
+            .readStream()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.CLIENT_URI, makeClientUri())
+            .option(Options.READ_PARTITIONS_JAVASCRIPT, "Sequence.from([1, 2, 3, 4, 5])")
+            .option(Options.READ_MAX_PARTITIONS_PER_TRIGGER, 2)
+            .option(Options.READ_JAVASCRIPT, "Sequence.from([{\"partition\": PARTITION}])")
+            .schema(new StructType().add("partition", DataTypes.StringType))
+            .load()
+            .writeStream()
+            .foreachBatch((dataset, batchId) -> {
+                List<String> partitions = new ArrayList<>();
+                dataset.collectAsList().forEach(row -> partitions.add(row.getString(0)));
+                Collections.sort(partitions);
+                microBatches.add(partitions);
+            })
+            .option("checkpointLocation", tempDir.toFile().getAbsolutePath())
+            .start()
+            .processAllAvailable();
+
+        assertEquals(3, microBatches.size(), "Each micro-batch should read at most 2 of the 5 partitions.");
+        assertEquals(Arrays.asList("1", "2"), microBatches.get(0));
+        assertEquals(Arrays.asList("3", "4"), microBatches.get(1));
+        assertEquals(Arrays.asList("5"), microBatches.get(2));
+    }
+
     @Test
     void singlePartition(@TempDir Path tempDir) throws Exception {
         newSparkSession()
@@ -115,6 +115,58 @@ class ReadWithCustomCodeTest extends AbstractIntegrationTest {
         assertEquals("John", rows.get(1).getString(1));
     }
 
+    @Test
+    void batchedResultsWithCustomSchema() {
+        List<Row> rows = startRead()
+            .option(Options.READ_JAVASCRIPT, "Sequence.from([" +
+                "[{'id': 1, 'name': 'Jane'}, {'id': 2, 'name': 'John'}], " +
+                "[{'id': 3, 'name': 'Sally', 'ignored': [true]}]" +
+                "])")
+            .option(Options.READ_BATCHED_RESULTS, true)
+            .schema(new StructType()
+                .add("id", DataTypes.IntegerType)
+                .add("name", DataTypes.StringType)
+            )
+            .load()
+            .collectAsList();
+
+        assertEquals(3, rows.size());
+        assertEquals(1, rows.get(0).getInt(0));
+        assertEquals("Jane", rows.get(0).getString(1));
+        assertEquals(2, rows.get(1).getInt(0));
+        assertEquals(3, rows.get(2).getInt(0));
+        assertEquals("Sally", rows.get(2).getString(1));
+    }
+
+    @Test
+    void batchedResultsAsJsonLines() {
+        List<Row> rows = startRead()
+            .option(Options.READ_JAVASCRIPT, "'{\"id\": 1, \"name\": \"Jane\"}\\n{\"id\": 2, \"name\": \"John\"}'")
+            .option(Options.READ_BATCHED_RESULTS, true)
+            .schema(new StructType()
+                .add("id", DataTypes.IntegerType)
+                .add("name", DataTypes.StringType)
+            )
+            .load()
+            .collectAsList();
+
+        assertEquals(2, rows.size());
+        assertEquals("Jane", rows.get(0).getString(1));
+        assertEquals("John", rows.get(1).getString(1));
+    }
+
+    @Test
+    void batchedResultsWithDefaultSchema() {
+        List<Row> rows = readRows(Options.READ_JAVASCRIPT, "Sequence.from([['first', 'second'], [{'third': 3}]])",
+            Options.READ_BATCHED_RESULTS, "true");
+
+        assertEquals(3, rows.size());
+        assertEquals("first", rows.get(0).getString(0));
+        assertEquals("second", rows.get(1).getString(0));
+        assertEquals("{\"third\":3}", rows.get(2).getString(0));
+        verifyUriSchemaIsUsed(rows);
+    }
+
     @Test
     void userDefinedVariables() {
         List<Row> rows = newSparkSession()
@@ -167,6 +219,11 @@ class ReadWithCustomCodeTest extends AbstractIntegrationTest {
         );
     }
 
+    @Test
+    void partitionsFromForests() {
+        verifyRowsAreReadFromEachForest(Options.READ_PARTITIONS_FORESTS, "true");
+    }
+
     @Test
     void badJavascriptForPartitions() {
         Dataset<Row> dataset = startRead()
@@ -205,6 +262,14 @@ class ReadWithCustomCodeTest extends AbstractIntegrationTest {
             .collectAsList();
     }
 
+    private List<Row> readRows(String option, String value, String otherOption, String otherValue) {
+        return startRead()
+            .option(option, value)
+            .option(otherOption, otherValue)
+            .load()
+            .collectAsList();
+    }
+
     private DataFrameReader startRead() {
         return newSparkSession()
             .read()
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.marklogic.client.datamovement.Forest;
+import com.marklogic.client.datamovement.impl.ForestImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BalanceForestHostsTest {
+
+    private static final long FAKE_SERVER_TIMESTAMP = 100;
+
+    private ForestPartition[] partitions;
+
+    @Test
+    void unbalancedHosts() {
+        Forest[] forests = new Forest[]{forest("f1", "host1", null), forest("f2", "host2", null), forest("f3", "host3", null)};
+        partitions = new ForestPartitionPlanner(2).makePartitions(FAKE_SERVER_TIMESTAMP, forests,
+            new long[]{40000, 10000, 10000});
+        assertEquals(4, countPartitionsForHost("host1"), "Verifying that the planner gives f1 most of the partitions.");
+
+        partitions = ForestHostBalancer.balanceHosts(partitions, forests);
+        assertEquals(6, partitions.length);
+        assertEquals(2, countPartitionsForHost("host1"));
+        assertEquals(2, countPartitionsForHost("host2"));
+        assertEquals(2, countPartitionsForHost("host3"));
+        assertEquals(4, Stream.of(partitions).filter(p -> "f1".equals(p.getForestName())).count(),
+            "Each partition should still read from the same forest, regardless of the host it is assigned to.");
+        assertEquals(FAKE_SERVER_TIMESTAMP, partitions[5].getServerTimestamp());
+    }
+
+    @Test
+    void forestFailedOverToReplica() {
+        Forest[] forests = new Forest[]{forest("f1", "host1", "host2"), forest("f2", "host2", null)};
+        partitions = new ForestPartitionPlanner(2).makePartitions(1000, FAKE_SERVER_TIMESTAMP, forests);
+        assertEquals(4, countPartitionsForHost("host2"), "The partitions for f1 should be read via its open " +
+            "replica on host2.");
+
+        partitions = ForestHostBalancer.balanceHosts(partitions, forests);
+        assertEquals(4, countPartitionsForHost("host2"), "host1 is assumed to be unavailable since f1 has " +
+            "failed over, so host2 is the only available host.");
+        assertEquals(0, countPartitionsForHost("host1"));
+    }
+
+    @Test
+    void alreadyBalanced() {
+        Forest[] forests = new Forest[]{forest("f1", "host1", null), forest("f2", "host2", null)};
+        partitions = new ForestPartitionPlanner(3).makePartitions(6000, FAKE_SERVER_TIMESTAMP, forests);
+
+        ForestPartition[] balancedPartitions = ForestHostBalancer.balanceHosts(partitions, forests);
+        for (int i = 0; i < partitions.length; i++) {
+            assertEquals(partitions[i].getHost(), balancedPartitions[i].getHost());
+        }
+    }
+
+    private long countPartitionsForHost(String host) {
+        return Stream.of(partitions).filter(p -> host.equals(p.getHost())).count();
+    }
+
+    private Forest forest(String name, String host, String openReplicaHost) {
+        return new ForestImpl(host, openReplicaHost, null, null, null, name, null, false, false);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.marklogic.spark.ConnectorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentStreamOffsetTest {
+
+    @Test
+    void roundTrip() {
+        DocumentStreamOffset offset = new DocumentStreamOffset(17000000000000000L, "2025-01-01T10:00:00.123456-05:00");
+        DocumentStreamOffset copy = DocumentStreamOffset.fromJson(offset.json());
+        assertEquals(17000000000000000L, copy.getServerTimestamp());
+        assertEquals("2025-01-01T10:00:00.123456-05:00", copy.getDateTime());
+        assertEquals(offset, copy);
+    }
+
+    @Test
+    void initialOffset() {
+        DocumentStreamOffset copy = DocumentStreamOffset.fromJson(new DocumentStreamOffset(0, null).json());
+        assertEquals(0, copy.getServerTimestamp());
+        assertNull(copy.getDateTime());
+    }
+
+    @Test
+    void unsupportedOffset() {
+        ConnectorException ex = assertThrows(ConnectorException.class, () -> DocumentStreamOffset.fromJson("17000000000000000"));
+        assertTrue(ex.getMessage().startsWith("Unsupported offset for streaming documents"), ex.getMessage());
+    }
+
+    @Test
+    void subtractMillis() {
+        assertEquals("2025-01-01T09:59:30-05:00", DocumentMicroBatchStream.subtractMillis("2025-01-01T10:00:00-05:00", 30000),
+            "The seconds must be included for the value to be a valid xs:dateTime.");
+        assertEquals("2024-12-31T23:59:59.9995Z", DocumentMicroBatchStream.subtractMillis("2025-01-01T00:00:00.0005Z", 1));
+        assertEquals("2025-01-01T10:00:00.123456-05:00", DocumentMicroBatchStream.subtractMillis("2025-01-01T10:00:00.123456-05:00", 0));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.marklogic.spark.AbstractIntegrationTest;
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Encoders;
+import org.apache.spark.sql.Row;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupDocumentsTest extends AbstractIntegrationTest {
+
+    @AfterEach
+    void removeListener() {
+        LookupDocumentsFunction.clientReleasedListener = null;
+    }
+
+    @Test
+    void lookupAuthors() throws Exception {
+        List<Row> rows = lookup(makeOptions(), "/author/author1.json", "/author/author2.json", "/author/author3.json");
+
+        assertEquals(3, rows.size());
+        Row row = rows.stream().filter(r -> "/author/author1.json".equals(r.getString(0))).findFirst().get();
+        assertEquals("JSON", row.getString(2));
+        JsonNode doc = objectMapper.readTree((byte[]) row.get(1));
+        assertEquals("Vivianne", doc.get("ForeName").asText());
+    }
+
+    @Test
+    void smallBatchSizeAndMultiplePartitions() {
+        Map<String, String> options = makeOptions();
+        options.put(Options.READ_BATCH_SIZE, "2");
+
+        List<String> uris = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            uris.add("/author/author" + i + ".json");
+        }
+        List<Row> rows = newSparkSession().createDataset(uris, Encoders.STRING()).toDF()
+            .repartition(3)
+            .mapPartitions(new LookupDocumentsFunction(options), Encoders.row(DocumentRowSchema.SCHEMA))
+            .collectAsList();
+
+        assertEquals(15, rows.size(), "Each partition should retrieve its documents in batches of 2.");
+    }
+
+    @Test
+    void metadataOnly() {
+        Map<String, String> options = makeOptions();
+        options.put(Options.READ_DOCUMENTS_CATEGORIES, "collections");
+
+        List<Row> rows = lookup(options, "/author/author1.json");
+        assertEquals(1, rows.size());
+        Row row = rows.get(0);
+        assertTrue(row.isNullAt(1), "Content was not requested.");
+        List<Object> collections = row.getList(3);
+        assertTrue(collections.contains("author"), "Unexpected collections: " + collections);
+    }
+
+    @Test
+    void withTransform() throws Exception {
+        Map<String, String> options = makeOptions();
+        options.put(Options.READ_DOCUMENTS_TRANSFORM, "withParams");
+        options.put(Options.READ_DOCUMENTS_TRANSFORM_PARAMS, "param1;value,1;param2;value2");
+        options.put(Options.READ_DOCUMENTS_TRANSFORM_PARAMS_DELIMITER, ";");
+
+        List<Row> rows = lookup(options, "/author/author1.json");
+        assertEquals(1, rows.size());
+        JsonNode doc = objectMapper.readTree((byte[]) rows.get(0).get(1));
+        assertEquals("value,1", doc.get("params").get("param1").asText(), "Unexpected doc: " + doc.toPrettyString());
+        assertEquals("value2", doc.get("params").get("param2").asText());
+    }
+
+    @Test
+    void notAllRowsConsumed() {
+        List<Boolean> releases = new CopyOnWriteArrayList<>();
+        LookupDocumentsFunction.clientReleasedListener = releases::add;
+
+        Map<String, String> options = makeOptions();
+        options.put(Options.READ_BATCH_SIZE, "2");
+
+        List<Row> rows = newSparkSession().createDataset(Arrays.asList("/author/author1.json", "/author/author2.json",
+                "/author/author3.json", "/author/author4.json"), Encoders.STRING()).toDF()
+            // A single partition ensures there is a single client, and that its URIs are not all read.
+            .coalesce(1)
+            .mapPartitions(new LookupDocumentsFunction(options), Encoders.row(DocumentRowSchema.SCHEMA))
+            .limit(1)
+            .collectAsList();
+
+        assertEquals(1, rows.size());
+        assertEquals(Arrays.asList(false), releases, "The task completes without reading every URI, in which case " +
+            "the client is expected to be released once by the task completion listener.");
+    }
+
+    @Test
+    void allRowsConsumed() {
+        List<Boolean> releases = new CopyOnWriteArrayList<>();
+        LookupDocumentsFunction.clientReleasedListener = releases::add;
+
+        List<Row> rows = newSparkSession().createDataset(Arrays.asList("/author/author1.json", "/author/author2.json"),
+                Encoders.STRING()).toDF()
+            .coalesce(1)
+            .mapPartitions(new LookupDocumentsFunction(makeOptions()), Encoders.row(DocumentRowSchema.SCHEMA))
+            .collectAsList();
+
+        assertEquals(2, rows.size());
+        assertEquals(Arrays.asList(true), releases, "The client is expected to be released once after the last URI " +
+            "is read, and the task completion listener should not release it again.");
+    }
+
+    @Test
+    void uriDoesNotExist() {
+        List<Row> rows = lookup(makeOptions(), "/author/author1.json", "/does-not-exist.json");
+        assertEquals(1, rows.size(), "A URI for a document that does not exist is expected to be ignored.");
+    }
+
+    private List<Row> lookup(Map<String, String> options, String... uris) {
+        Dataset<Row> uriDataset = newSparkSession().createDataset(Arrays.asList(uris), Encoders.STRING()).toDF();
+        return uriDataset
+            .mapPartitions(new LookupDocumentsFunction(options), Encoders.row(DocumentRowSchema.SCHEMA))
+            .collectAsList();
+    }
+
+    private Map<String, String> makeOptions() {
+        Map<String, String> options = new HashMap<>();
+        options.put(Options.CLIENT_URI, makeClientUri());
+        return options;
+    }
+}
@@ -7,6 +7,8 @@ import com.marklogic.client.datamovement.Forest;
 import com.marklogic.client.datamovement.impl.ForestImpl;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class MakeForestPartitionsTest {
@@ -65,6 +67,88 @@ class MakeForestPartitionsTest {
             "of all matching results.");
     }
 
+    @Test
+    void unbalancedForests() {
+        partitions = new ForestPartitionPlanner(2).makePartitions(FAKE_SERVER_TIMESTAMP,
+            new Forest[]{forest("f1"), forest("f2")}, new long[]{30000, 10000});
+        assertEquals(4, partitions.length, "The 4 partitions should be allocated based on each forest's share of " +
+            "documents; f1 has 75% of the documents and thus should get 3 partitions.");
+
+        verifyPartition(0, "f1", 1, 10000);
+        verifyPartition(1, "f1", 10001, 20000);
+        verifyPartition(2, "f1", 20001, null);
+        verifyPartition(3, "f2", 1, null);
+    }
+
+    @Test
+    void forestWithVerySmallShare() {
+        partitions = new ForestPartitionPlanner(2).makePartitions(FAKE_SERVER_TIMESTAMP,
+            new Forest[]{forest("f1"), forest("f2"), forest("f3")}, new long[]{100000, 10, 100000});
+        assertEquals(6, partitions.length);
+
+        assertEquals(1, countPartitionsForForest("f2"), "A forest with any matching documents should get at " +
+            "least one partition.");
+        assertEquals(5, countPartitionsForForest("f1") + countPartitionsForForest("f3"));
+    }
+
+    @Test
+    void forestWithNoDocuments() {
+        partitions = new ForestPartitionPlanner(3).makePartitions(FAKE_SERVER_TIMESTAMP,
+            new Forest[]{forest("f1"), forest("f2")}, new long[]{0, 9000});
+        assertEquals(3, partitions.length, "A forest with no matching documents should not get any partitions.");
+
+        verifyPartition(0, "f2", 1, 3000);
+        verifyPartition(1, "f2", 3001, 6000);
+        verifyPartition(2, "f2", 6001, null);
+    }
+
+    @Test
+    void forestWithNoDocumentsWithoutSnapshot() {
+        partitions = new ForestPartitionPlanner(3).makePartitions(FAKE_SERVER_TIMESTAMP,
+            new Forest[]{forest("f1"), forest("f2")}, new long[]{0, 9000}, true);
+        assertEquals(4, partitions.length, "When documents are not read at a consistent snapshot, a forest with no " +
+            "matching documents should still be read in case documents are added to it before it is read.");
+
+        verifyPartition(0, "f1", 1, null);
+        verifyPartition(1, "f2", 1, 3000);
+        verifyPartition(2, "f2", 3001, 6000);
+        verifyPartition(3, "f2", 6001, null);
+    }
+
+    @Test
+    void noDocumentsInAnyForest() {
+        partitions = new ForestPartitionPlanner(3).makePartitions(FAKE_SERVER_TIMESTAMP,
+            new Forest[]{forest("f1"), forest("f2")}, new long[]{0, 0});
+        assertEquals(0, partitions.length);
+    }
+
+    @Test
+    void maxUrisPerPartition() {
+        partitions = new ForestPartitionPlanner(1, 2500).makePartitions(FAKE_SERVER_TIMESTAMP,
+            new Forest[]{forest("f1"), forest("f2")}, new long[]{10000, 2000});
+        assertEquals(5, partitions.length, "f1 should be split into 4 partitions so that none exceeds 2500 URIs, " +
+            "while f2 only needs its single partition.");
+
+        verifyPartition(0, "f1", 1, 2500);
+        verifyPartition(1, "f1", 2501, 5000);
+        verifyPartition(2, "f1", 5001, 7500);
+        verifyPartition(3, "f1", 7501, null);
+        verifyPartition(4, "f2", 1, null);
+    }
+
+    @Test
+    void maxUrisPerPartitionWithEvenDistribution() {
+        partitions = new ForestPartitionPlanner(2, 1000).makePartitions(6000, FAKE_SERVER_TIMESTAMP,
+            forest("f1"), forest("f2"));
+        assertEquals(6, partitions.length);
+        assertEquals(3, countPartitionsForForest("f1"));
+        assertEquals(3, countPartitionsForForest("f2"));
+    }
+
+    private long countPartitionsForForest(String forestName) {
+        return Stream.of(partitions).filter(p -> forestName.equals(p.getForestName())).count();
+    }
+
     private Forest forest(String name) {
         return new ForestImpl(null, null, null, null, null, name, null, false, false);
     }
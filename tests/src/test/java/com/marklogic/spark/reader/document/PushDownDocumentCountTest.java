@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.marklogic.spark.AbstractIntegrationTest;
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.DataFrameReader;
+import org.apache.spark.sql.Row;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PushDownDocumentCountTest extends AbstractIntegrationTest {
+
+    @Test
+    void count() {
+        long count = newReader()
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, "author")
+            .load()
+            .count();
+
+        assertEquals(15, count, "The count should be answered by the query estimate without any documents " +
+            "being read from MarkLogic.");
+    }
+
+    @Test
+    void countWithNoMatches() {
+        long count = newReader()
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, "collection-with-no-documents")
+            .load()
+            .count();
+
+        assertEquals(0, count);
+    }
+
+    @Test
+    void filteredSearch() {
+        long count = newReader()
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, "author")
+            .option(Options.READ_DOCUMENTS_FILTERED, true)
+            .load()
+            .count();
+
+        assertEquals(15, count, "A count is not pushed down for a filtered search, as the estimate may not be " +
+            "accurate. Spark is expected to count the rows returned by the connector instead.");
+    }
+
+    @Test
+    void pushDownDisabled() {
+        long count = newReader()
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, "author")
+            .option(Options.READ_PUSH_DOWN_AGGREGATES, false)
+            .load()
+            .count();
+
+        assertEquals(15, count);
+    }
+
+    @Test
+    void groupByIsNotPushedDown() {
+        List<Row> rows = newReader()
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, "author")
+            .load()
+            .groupBy("format")
+            .count()
+            .collectAsList();
+
+        assertEquals(1, rows.size());
+        assertEquals("JSON", rows.get(0).getString(0));
+        assertEquals(15, rows.get(0).getLong(1));
+    }
+
+    private DataFrameReader newReader() {
+        return newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.CLIENT_URI, makeClientUri());
+    }
+}
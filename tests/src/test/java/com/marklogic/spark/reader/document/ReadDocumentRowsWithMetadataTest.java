@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import scala.collection.JavaConverters;
 import scala.collection.mutable.WrappedArray;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -112,6 +113,28 @@ class ReadDocumentRowsWithMetadataTest extends AbstractIntegrationTest {
             });
     }
 
+    @Test
+    void selectSubsetOfColumns() {
+        List<Row> rows = newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.CLIENT_URI, makeClientUri())
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, "collection1")
+            .option(Options.READ_DOCUMENTS_CATEGORIES, "content,metadata")
+            .load()
+            .select("URI", "format", "collections")
+            .collectAsList();
+
+        assertEquals(2, rows.size(), "Only the selected columns should be populated by the connector, with the " +
+            "unselected metadata categories not being retrieved from MarkLogic.");
+        rows.forEach(row -> {
+            verifyUriColumn(row);
+            assertEquals("XML", row.getString(1));
+            WrappedArray collections = (WrappedArray) row.get(2);
+            assertEquals("collection1", collections.apply(0));
+            assertEquals("collection2", collections.apply(1));
+        });
+    }
+
     private void verifyUriColumn(Row row) {
         String uri = row.getString(0);
         assertTrue(uri.startsWith("/test/"), "Unexpected URI: " + uri);
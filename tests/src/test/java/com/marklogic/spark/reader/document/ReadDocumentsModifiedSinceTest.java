@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.document;
+
+import com.marklogic.spark.AbstractIntegrationTest;
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.DataFrameReader;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.streaming.StreamingQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uses the dateTime range index on "lastModifiedDateTime" in the test app instead of the "last-modified" property, as
+ * enabling "maintain last modified" on the test database would add a properties fragment to every document written
+ * by every other test.
+ */
+class ReadDocumentsModifiedSinceTest extends AbstractIntegrationTest {
+
+    private static final String INDEX = "lastModifiedDateTime";
+    private static final String COLLECTION = "modified-test";
+
+    @Test
+    void modifiedSinceInThePast() {
+        insertDocument("/modified-test/doc1.json", "2020-01-01T00:00:00Z");
+        insertDocument("/modified-test/doc2.json", "2024-06-01T00:00:00Z");
+        insertDocument("/modified-test/doc3.json", "2025-01-01T00:00:00Z");
+
+        List<Row> rows = newReader()
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, COLLECTION)
+            .option(Options.READ_DOCUMENTS_MODIFIED_SINCE, "2024-01-01T00:00:00Z")
+            .load()
+            .sort("URI")
+            .collectAsList();
+
+        assertEquals(2, rows.size());
+        assertEquals("/modified-test/doc2.json", rows.get(0).getString(0));
+        assertEquals("/modified-test/doc3.json", rows.get(1).getString(0));
+    }
+
+    @Test
+    void modifiedSinceInTheFuture() {
+        insertDocument("/modified-test/doc1.json", "2020-01-01T00:00:00Z");
+
+        List<Row> rows = newReader()
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, COLLECTION)
+            .option(Options.READ_DOCUMENTS_MODIFIED_SINCE, "2099-01-01T00:00:00Z")
+            .load()
+            .collectAsList();
+
+        assertEquals(0, rows.size());
+    }
+
+    @Test
+    void withUrisAndStringQuery() {
+        insertDocument("/modified-test/doc1.json", "2020-01-01T00:00:00Z");
+        insertDocument("/modified-test/doc2.json", "2024-06-01T00:00:00Z");
+        insertDocument("/modified-test/doc3.json", "2025-01-01T00:00:00Z");
+
+        List<Row> rows = newReader()
+            .option(Options.READ_DOCUMENTS_URIS, "/modified-test/doc1.json\n/modified-test/doc2.json")
+            .option(Options.READ_DOCUMENTS_STRING_QUERY, "world")
+            .option(Options.READ_DOCUMENTS_MODIFIED_SINCE, "2024-01-01T00:00:00Z")
+            .load()
+            .collectAsList();
+
+        assertEquals(1, rows.size());
+        assertEquals("/modified-test/doc2.json", rows.get(0).getString(0));
+    }
+
+    @Test
+    void streamOnlyReadsModifiedDocuments() throws Exception {
+        insertDocument("/modified-test/doc1.json", null);
+        insertDocument("/modified-test/doc2.json", null);
+
+        Set<String> uris = ConcurrentHashMap.newKeySet();
+        AtomicInteger microBatchCounter = new AtomicInteger();
+
+        // Without an overlap, a micro-batch only reads documents modified since the end of the previous micro-batch.
+        StreamingQuery query = startStream("0", uris, microBatchCounter);
+
+        try {
+            query.processAllAvailable();
+            assertEquals(2, uris.size());
+            assertEquals(1, microBatchCounter.get(), "The first micro-batch should read every matching document.");
+
+            // No micro-batch should be run when no documents have been modified.
+            query.processAllAvailable();
+            assertEquals(1, microBatchCounter.get());
+
+            uris.clear();
+            insertDocument("/modified-test/doc3.json", null);
+            query.processAllAvailable();
+            assertTrue(uris.contains("/modified-test/doc3.json"), "The next micro-batch should read the newly " +
+                "written document; actual URIs: " + uris);
+            assertEquals(2, microBatchCounter.get());
+        } finally {
+            query.stop();
+        }
+    }
+
+    @Test
+    void streamWithOverlap() throws Exception {
+        insertDocument("/modified-test/doc1.json", null);
+
+        Set<String> uris = ConcurrentHashMap.newKeySet();
+        AtomicInteger microBatchCounter = new AtomicInteger();
+        StreamingQuery query = startStream("600000", uris, microBatchCounter);
+
+        try {
+            query.processAllAvailable();
+            assertEquals(1, uris.size());
+
+            // Committing a transaction that does not modify a matching document advances the server timestamp, but
+            // doc1 - while within the overlap - has already been read and should not cause another micro-batch.
+            getDatabaseClient().newServerEval()
+                .javascript("declareUpdate(); xdmp.documentInsert('/not-modified-test/doc.json', {'hello': 'world'}, " +
+                    "{'permissions': [xdmp.permission('spark-user-role', 'read'), xdmp.permission('spark-user-role', 'update')]})")
+                .evalAs(String.class);
+            query.processAllAvailable();
+            assertEquals(1, microBatchCounter.get());
+
+            uris.clear();
+            insertDocument("/modified-test/doc2.json", null);
+            query.processAllAvailable();
+            assertEquals(2, uris.size(), "doc1 should be read again since it was modified within the overlap " +
+                "before the end of the first micro-batch; actual URIs: " + uris);
+        } finally {
+            query.stop();
+        }
+    }
+
+    private StreamingQuery startStream(String overlap, Set<String> uris, AtomicInteger microBatchCounter) throws Exception {
+        return newSparkSession()
+            .readStream()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.CLIENT_URI, makeClientUri())
+            .option(Options.READ_DOCUMENTS_COLLECTIONS, COLLECTION)
+            .option(Options.READ_DOCUMENTS_MODIFIED_SINCE_INDEX, INDEX)
+            .option(Options.READ_DOCUMENTS_STREAM_OVERLAP, overlap)
+            .load()
+            .writeStream()
+            .foreachBatch((dataset, batchId) -> {
+                dataset.collectAsList().forEach(row -> uris.add(row.getString(0)));
+                microBatchCounter.incrementAndGet();
+            })
+            .start();
+    }
+
+    private DataFrameReader newReader() {
+        return newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.CLIENT_URI, makeClientUri())
+            .option(Options.READ_DOCUMENTS_MODIFIED_SINCE_INDEX, INDEX);
+    }
+
+    /**
+     * Inserts via the server so that, when no value is given, the document's modified dateTime is based on the server's
+     * clock, just like the "last-modified" property would be.
+     */
+    private void insertDocument(String uri, String lastModified) {
+        getDatabaseClient().newServerEval()
+            .javascript("declareUpdate(); var uri, lastModified; " +
+                "xdmp.documentInsert(uri, {'hello': 'world', 'lastModifiedDateTime': lastModified ? lastModified : fn.currentDateTime()}, " +
+                "{'collections': ['" + COLLECTION + "'], 'permissions': [" +
+                "xdmp.permission('spark-user-role', 'read'), xdmp.permission('spark-user-role', 'update')]})")
+            .addVariable("uri", uri)
+            .addVariable("lastModified", lastModified != null ? lastModified : "")
+            .evalAs(String.class);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.file;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.util.SerializableConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileSplitLineReaderTest {
+
+    private static final List<String> LINES = Arrays.asList(
+        "{\"id\": 1}", "{\"id\": 22, \"text\": \"longer line\"}", "", "{\"id\": 333}", "{\"id\": 4}"
+    );
+
+    @Test
+    void everySplitSize(@TempDir Path tempDir) throws IOException {
+        final String content = String.join("\n", LINES) + "\n";
+        Path file = tempDir.resolve("test.jsonl");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        final long fileLength = Files.size(file);
+
+        for (long splitSize = 1; splitSize <= fileLength + 1; splitSize++) {
+            assertEquals(LINES, readAllSplits(file.toString(), fileLength, splitSize),
+                "Every line should be read exactly once and in order; split size: " + splitSize);
+        }
+    }
+
+    @Test
+    void windowsLineEndingsAndNoTrailingNewline(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("test.jsonl");
+        Files.write(file, "{\"id\": 1}\r\n{\"id\": 2}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList("{\"id\": 1}", "{\"id\": 2}"), readAllSplits(file.toString(), Files.size(file), 5));
+    }
+
+    @Test
+    void linesLongerThanBuffer(@TempDir Path tempDir) throws IOException {
+        char[] chars = new char[100000];
+        Arrays.fill(chars, 'a');
+        final String longLine = new String(chars);
+        Path file = tempDir.resolve("test.jsonl");
+        Files.write(file, (longLine + "\r\n" + longLine + "\n" + "short").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList(longLine, longLine, "short"), readAllSplits(file.toString(), Files.size(file), 150000),
+            "Lines spanning multiple reads of the buffer, including a carriage return and a split, should be read intact.");
+    }
+
+    private List<String> readAllSplits(String path, long fileLength, long splitSize) throws IOException {
+        FileContext fileContext = new FileContext(new HashMap<>(), new SerializableConfiguration(new Configuration()));
+        List<String> lines = new ArrayList<>();
+        for (FilePartition split : FileUtil.makeFileSplits(path, fileLength, splitSize)) {
+            try (FileSplitLineReader reader = new FileSplitLineReader(fileContext, path, split.getStartOffset(), split.getEndOffset())) {
+                byte[] line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(new String(line, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return lines;
+    }
+}
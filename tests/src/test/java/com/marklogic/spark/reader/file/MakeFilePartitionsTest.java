@@ -5,6 +5,8 @@ package com.marklogic.spark.reader.file;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class MakeFilePartitionsTest {
@@ -38,4 +40,52 @@ class MakeFilePartitionsTest {
         assertEquals("B", partitions[1].getPaths().get(0));
         assertEquals("C", partitions[2].getPaths().get(0));
     }
+
+    @Test
+    void bySize() {
+        FilePartition[] partitions = FileUtil.makeFilePartitionsBySize(
+            new String[]{"A", "B", "C", "D", "E"}, new long[]{10, 120, 20, 30, 50}, 2);
+        assertEquals(2, partitions.length);
+        assertEquals(Arrays.asList("B"), partitions[0].getPaths(),
+            "The largest file should be assigned to the first partition by itself.");
+        assertEquals(Arrays.asList("A", "C", "D", "E"), partitions[1].getPaths(),
+            "The remaining files add up to 110 bytes and should be assigned to the second partition, and they " +
+                "should retain their original order.");
+    }
+
+    @Test
+    void bySizeWithMorePartitionsThanFiles() {
+        FilePartition[] partitions = FileUtil.makeFilePartitionsBySize(new String[]{"A", "B"}, new long[]{1, 2}, 4);
+        assertEquals(2, partitions.length);
+        assertEquals(Arrays.asList("B"), partitions[0].getPaths());
+        assertEquals(Arrays.asList("A"), partitions[1].getPaths());
+    }
+
+    @Test
+    void combineSmallFiles() {
+        FilePartition[] partitions = FileUtil.combineFilesBySize(
+            new String[]{"A", "B", "C", "D", "E"}, new long[]{10, 100, 20, 30, 50}, 100, 0);
+        assertEquals(3, partitions.length);
+        assertEquals(Arrays.asList("B"), partitions[0].getPaths());
+        assertEquals(Arrays.asList("C", "D", "E"), partitions[1].getPaths());
+        assertEquals(Arrays.asList("A"), partitions[2].getPaths());
+    }
+
+    @Test
+    void combineWithOpenCost() {
+        FilePartition[] partitions = FileUtil.combineFilesBySize(
+            new String[]{"A", "B", "C", "D", "E"}, new long[]{1, 1, 1, 1, 1}, 100, 40);
+        assertEquals(3, partitions.length, "Each file should count as 40 bytes, so only 2 files fit into 100 bytes.");
+        assertEquals(2, partitions[0].getPaths().size());
+        assertEquals(2, partitions[1].getPaths().size());
+        assertEquals(1, partitions[2].getPaths().size());
+    }
+
+    @Test
+    void combineFileLargerThanMax() {
+        FilePartition[] partitions = FileUtil.combineFilesBySize(new String[]{"A", "B"}, new long[]{500, 10}, 100, 0);
+        assertEquals(2, partitions.length);
+        assertEquals(Arrays.asList("A"), partitions[0].getPaths());
+        assertEquals(Arrays.asList("B"), partitions[1].getPaths());
+    }
 }
@@ -12,7 +12,12 @@ import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.jdom2.Namespace;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,6 +58,110 @@ class ReadAggregateXmlFilesTest extends AbstractIntegrationTest {
         verifyRow(rows.get(2), "employees-namespace.xml-3.xml", rootPath, "Brenda", 42);
     }
 
+    @Test
+    void splitFile() {
+        Dataset<Row> dataset = newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_AGGREGATES_XML_ELEMENT, "Employee")
+            .option(Options.READ_FILES_SPLIT_SIZE, 100)
+            .load("src/test/resources/aggregates/employees.xml");
+
+        assertEquals(5, dataset.rdd().getNumPartitions(), "The 423-byte file should be split into 5 ranges.");
+
+        List<Row> rows = dataset.sort("URI").collectAsList();
+        assertEquals(3, rows.size(), "Each Employee start tag - at offsets 12, 138, and 263 - should be found in " +
+            "a different range, and the 2 ranges with no Employee start tag should not produce any rows.");
+        String rootPath = "/Employee/";
+        verifyRow(rows.get(0), "employees.xml-0-1.xml", rootPath, "John", 40);
+        verifyRow(rows.get(1), "employees.xml-100-1.xml", rootPath, "Jane", 41);
+        verifyRow(rows.get(2), "employees.xml-200-1.xml", rootPath, "Brenda", 42);
+
+        List<Row> unsplitRows = newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_AGGREGATES_XML_ELEMENT, "Employee")
+            .load("src/test/resources/aggregates/employees.xml")
+            .collectAsList();
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(new String((byte[]) unsplitRows.get(i).get(1)), new String((byte[]) rows.get(i).get(1)),
+                "Each element should have the same content as when the file is not split.");
+        }
+    }
+
+    @Test
+    void splitFileWithNamespace() {
+        List<Row> rows = newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_AGGREGATES_XML_ELEMENT, "Employee")
+            .option(Options.READ_AGGREGATES_XML_NAMESPACE, "org:example")
+            .option(Options.READ_FILES_SPLIT_SIZE, 100)
+            .load("src/test/resources/aggregates/employees-namespace.xml")
+            .sort("URI")
+            .collectAsList();
+
+        assertEquals(3, rows.size());
+        String rootPath = "/ex:Employee/ex:";
+        verifyRow(rows.get(0), "employees-namespace.xml-0-1.xml", rootPath, "John", 40);
+        verifyRow(rows.get(1), "employees-namespace.xml-0-2.xml", rootPath, "Jane", 41);
+        verifyRow(rows.get(2), "employees-namespace.xml-100-1.xml", rootPath, "Brenda", 42);
+    }
+
+    @Test
+    void splitFileWithNamespaceDeclaredOnAggregateElement(@TempDir Path tempDir) throws IOException {
+        StringBuilder xml = new StringBuilder("<Company>");
+        for (int i = 1; i <= 5; i++) {
+            xml.append(String.format("<Employee xmlns='org:example'><name>Person%d</name><age>%d</age></Employee>", i, 40 + i));
+        }
+        Path file = tempDir.resolve("employees.xml");
+        Files.write(file, xml.append("</Company>").toString().getBytes(StandardCharsets.UTF_8));
+
+        Dataset<Row> dataset = newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_AGGREGATES_XML_ELEMENT, "Employee")
+            .option(Options.READ_AGGREGATES_XML_NAMESPACE, "org:example")
+            .option(Options.READ_FILES_SPLIT_SIZE, 100)
+            .load(file.toString());
+
+        assertTrue(dataset.rdd().getNumPartitions() > 1, "The file should still be split into multiple ranges.");
+        List<Row> rows = dataset.sort("URI").collectAsList();
+        assertEquals(5, rows.size(), "Since the namespace is not declared on the root element, the start tags of " +
+            "the Employee elements cannot be identified by their bytes. The first range should then read the entire " +
+            "file instead of every row being silently dropped.");
+        for (int i = 0; i < 5; i++) {
+            verifyRow(rows.get(i), String.format("employees.xml-0-%d.xml", i + 1), "/ex:Employee/ex:", "Person" + (i + 1), 41 + i);
+        }
+    }
+
+    @Test
+    void splitFileWithWrapperElements(@TempDir Path tempDir) throws IOException {
+        StringBuilder xml = new StringBuilder("<Company>");
+        for (int i = 1; i <= 6; i++) {
+            if (i % 2 == 1) {
+                xml.append("<Department>");
+            }
+            xml.append(String.format("<Employee><name>Person%d</name><age>%d</age></Employee>", i, 40 + i));
+            if (i % 2 == 0) {
+                xml.append("</Department>");
+            }
+        }
+        Path file = tempDir.resolve("employees.xml");
+        Files.write(file, xml.append("</Company>").toString().getBytes(StandardCharsets.UTF_8));
+
+        Dataset<Row> dataset = newSparkSession().read()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_AGGREGATES_XML_ELEMENT, "Employee")
+            .option(Options.READ_FILES_SPLIT_SIZE, 100)
+            .load(file.toString());
+
+        assertTrue(dataset.rdd().getNumPartitions() > 1, "The file should still be split into multiple ranges.");
+        List<Row> rows = dataset.sort("URI").collectAsList();
+        assertEquals(6, rows.size(), "Since the Employee elements are within Department elements, a range beginning " +
+            "with an Employee element would contain unmatched Department end tags. The first range should then read " +
+            "the entire file instead of the other ranges failing.");
+        for (int i = 0; i < 6; i++) {
+            verifyRow(rows.get(i), String.format("employees.xml-0-%d.xml", i + 1), "/Employee/", "Person" + (i + 1), 41 + i);
+        }
+    }
+
     @Test
     void noMatchingElements() {
         long count = newSparkSession().read()
@@ -204,6 +204,26 @@ class ReadArchiveFileTest extends AbstractIntegrationTest {
             "and 1 from secondEntryInvalid.zip.");
     }
 
+    @Test
+    void splitArchiveFile() {
+        Dataset<Row> dataset = newSparkSession().read().format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_FILES_TYPE, "archive")
+            .option(Options.READ_FILES_SPLIT_SIZE, 1)
+            .load("src/test/resources/archive-files/archive1.zip");
+
+        assertEquals(2, dataset.rdd().getNumPartitions(), "Each document's content and metadata entries should " +
+            "be read by the same partition, thus resulting in one partition per document.");
+
+        List<Row> rows = dataset.sort("URI").collectAsList();
+        assertEquals(2, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            assertTrue(row.getString(0).endsWith("/test/" + (i + 1) + ".xml"));
+            verifyContent(row);
+            verifyCollections(row);
+        }
+    }
+
     /**
      * Verifies that the encoding is applied to documents read from an archive zip. In this case, iso-8859-1 is required
      * for the content entry but still works fine for the metadata entry, which is UTF-8.
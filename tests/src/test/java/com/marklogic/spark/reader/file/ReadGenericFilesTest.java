@@ -32,6 +32,17 @@ class ReadGenericFilesTest extends AbstractIntegrationTest {
 
     private static final String ISO_8859_1_ENCODED_FILE = "src/test/resources/encoding/medline.iso-8859-1.txt";
 
+    @Test
+    void combineSmallFiles() {
+        Dataset<Row> dataset = newSparkSession().read().format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_FILES_MAX_PARTITION_BYTES, 64 * 1024 * 1024)
+            .load("src/test/resources/mixed-files");
+
+        assertEquals(1, dataset.rdd().getNumPartitions(), "Each of the 4 small files counts as 4MB, so all of " +
+            "them should be combined into a single 64MB partition.");
+        assertEquals(4, dataset.count());
+    }
+
     @Test
     void readAndWriteMixedFiles() {
         Dataset<Row> dataset = newSparkSession().read().format(CONNECTOR_IDENTIFIER)
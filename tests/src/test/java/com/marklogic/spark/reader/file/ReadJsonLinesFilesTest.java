@@ -11,10 +11,12 @@ import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SaveMode;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ReadJsonLinesFilesTest extends AbstractIntegrationTest {
 
@@ -46,6 +48,32 @@ class ReadJsonLinesFilesTest extends AbstractIntegrationTest {
         assertFalse(doc.has("hello"));
     }
 
+    @Test
+    void splitFile() {
+        Dataset<Row> dataset = newSparkSession().read().format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_FILES_TYPE, "json_lines")
+            .option(Options.READ_FILES_SPLIT_SIZE, 50)
+            .load("src/test/resources/json-lines/nested-objects.txt");
+
+        assertEquals(3, dataset.rdd().getNumPartitions(), "The 131-byte file should be split into 3 ranges of bytes.");
+        List<String> uris = dataset.collectAsList().stream().map(row -> row.getString(0)).sorted().toList();
+        assertEquals(2, uris.size(), "Each line should be read by exactly one of the partitions; the third " +
+            "partition should not read any lines as no line starts within its range.");
+        assertTrue(uris.get(0).endsWith("nested-objects.txt-0-1.json"), "Unexpected URI: " + uris.get(0));
+        assertTrue(uris.get(1).endsWith("nested-objects.txt-50-1.json"), "Unexpected URI: " + uris.get(1));
+    }
+
+    @Test
+    void gzipFileIsNotSplit() {
+        Dataset<Row> dataset = newSparkSession().read().format(CONNECTOR_IDENTIFIER)
+            .option(Options.READ_FILES_TYPE, "json_lines")
+            .option(Options.READ_FILES_SPLIT_SIZE, 10)
+            .load("src/test/resources/json-lines/nested-objects.txt.gz");
+
+        assertEquals(1, dataset.rdd().getNumPartitions());
+        assertEquals(2, dataset.count());
+    }
+
     @Test
     void withUriTemplate() {
         newSparkSession().read().format(CONNECTOR_IDENTIFIER)
@@ -71,6 +71,25 @@ class ReadZipFilesTest extends AbstractIntegrationTest {
         verifyMixedFilesInZipWereWrittenCorrectly();
     }
 
+    @Test
+    void splitZipFile() {
+        Dataset<Row> dataset = newZipReader()
+            .option(Options.READ_FILES_SPLIT_SIZE, 30)
+            .load("src/test/resources/zip-files/mixed-files.zip");
+
+        assertEquals(2, dataset.rdd().getNumPartitions(), "Based on the compressed sizes of the 4 entries - 25, 14, " +
+            "18, and 46 bytes - the first 2 entries should be in the first range, and the last 2 entries should be " +
+            "in the second range, which always extends to the end of the file.");
+
+        List<Row> rows = dataset.sort("URI").collectAsList();
+        assertEquals(4, rows.size());
+        verifyUriEndsWith(rows.get(0), "mixed-files.zip/mixed-files/hello.json");
+        verifyUriEndsWith(rows.get(1), "mixed-files.zip/mixed-files/hello.txt");
+        verifyUriEndsWith(rows.get(2), "mixed-files.zip/mixed-files/hello.xml");
+        verifyUriEndsWith(rows.get(3), "mixed-files.zip/mixed-files/hello2.txt.gz");
+        rows.forEach(row -> assertFalse(row.isNullAt(1), "Each entry's content should be read."));
+    }
+
     @Test
     void readViaMultiplePaths() {
         List<Row> rows = newZipReader()
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.file.xml;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AggregateXmlFileSplitTest {
+
+    private static final String XML = "<root><item/><items><item a='1'>x</item></items><ex:item>y</ex:item></root>";
+
+    @Test
+    void findStartTags() throws IOException {
+        List<byte[]> tagNames = Arrays.asList(bytes("item"), bytes("ex:item"));
+
+        assertArrayEquals(new long[]{6, 3}, findStartTags(0, XML.length(), tagNames),
+            "The 'items' element should not be matched since its name only starts with 'item'.");
+        assertArrayEquals(new long[]{20, 2}, findStartTags(7, XML.length(), tagNames));
+        assertArrayEquals(new long[]{20, 1}, findStartTags(7, 21, tagNames),
+            "A start tag beginning at the last byte in the range should be found.");
+        assertArrayEquals(new long[]{-1, 0}, findStartTags(21, 48, tagNames));
+    }
+
+    @Test
+    void noTagNames() throws IOException {
+        assertArrayEquals(new long[]{-1, 0}, findStartTags(0, XML.length(), Collections.emptyList()));
+    }
+
+    @Test
+    void getTagNames() {
+        List<String[]> rootNamespaces = Arrays.asList(new String[]{"", "org:default"}, new String[]{"ex", "org:example"});
+
+        List<byte[]> tagNames = AggregateXmlFileSplit.getTagNames("org:example", "item", rootNamespaces);
+        assertEquals(1, tagNames.size());
+        assertEquals("ex:item", new String(tagNames.get(0), StandardCharsets.UTF_8));
+
+        tagNames = AggregateXmlFileSplit.getTagNames("org:default", "item", rootNamespaces);
+        assertEquals(1, tagNames.size());
+        assertEquals("item", new String(tagNames.get(0), StandardCharsets.UTF_8));
+
+        assertEquals(0, AggregateXmlFileSplit.getTagNames(null, "item", rootNamespaces).size(),
+            "An unprefixed element is in the default namespace declared on the root element, so no element can " +
+                "match when a namespace is not specified.");
+        assertEquals(1, AggregateXmlFileSplit.getTagNames(null, "item", Collections.emptyList()).size());
+    }
+
+    private long[] findStartTags(long startOffset, long endOffset, List<byte[]> tagNames) throws IOException {
+        ByteArrayInputStream stream = new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8));
+        stream.skip(startOffset);
+        return AggregateXmlFileSplit.findStartTags(stream, startOffset, endOffset, tagNames);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.spark.sql.connector.expressions.Expression;
+import org.apache.spark.sql.connector.expressions.Expressions;
+import org.apache.spark.sql.connector.expressions.LiteralValue;
+import org.apache.spark.sql.connector.expressions.filter.Predicate;
+import org.apache.spark.sql.sources.In;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterFactoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void inWithNumbers() {
+        OpticFilter filter = FilterFactory.toPlanFilter(new In("CitationID", new Object[]{1, 2L, null, 3.5}));
+        assertTrue(filter instanceof InFilter);
+
+        ObjectNode arg = populateArg(filter);
+        assertEquals("in", arg.get("fn").asText());
+        assertEquals("[1,2,3.5]", arg.get("args").get(1).toString(),
+            "The values should be in a single array, with the null value removed since it can never match.");
+    }
+
+    @Test
+    void inWithDates() {
+        OpticFilter filter = FilterFactory.toPlanFilter(new In("BirthDate", new Object[]{Date.valueOf("2020-01-01")}));
+        assertTrue(filter instanceof ParentFilter, "Dates would lose their type if added to the plan as JSON, " +
+            "so they should still be bound as parameters via an 'or' of 'eq' filters.");
+    }
+
+    @Test
+    void runtimeInPredicate() {
+        Predicate predicate = new Predicate("IN", new Expression[]{
+            Expressions.column("`Medical.Authors.LastName`"),
+            new LiteralValue<>(UTF8String.fromString("Smith"), DataTypes.StringType),
+            new LiteralValue<>(UTF8String.fromString("Jones"), DataTypes.StringType)
+        });
+
+        ObjectNode arg = populateArg(FilterFactory.toPlanFilter(predicate));
+        assertEquals("in", arg.get("fn").asText());
+        assertEquals("[\"Smith\",\"Jones\"]", arg.get("args").get(1).toString());
+    }
+
+    @Test
+    void runtimeInPredicateWithDates() {
+        Predicate predicate = new Predicate("IN", new Expression[]{
+            Expressions.column("Date"),
+            new LiteralValue<>(19500, DataTypes.DateType)
+        });
+        assertNull(FilterFactory.toPlanFilter(predicate), "A date literal holds a number of days, which would not " +
+            "match any date in MarkLogic, so it must not be pushed down.");
+
+        predicate = new Predicate("IN", new Expression[]{
+            Expressions.column("Timestamp"),
+            new LiteralValue<>(1684944000000000L, DataTypes.TimestampType)
+        });
+        assertNull(FilterFactory.toPlanFilter(predicate));
+    }
+
+    @Test
+    void unsupportedRuntimePredicate() {
+        Predicate predicate = new Predicate("=", new Expression[]{
+            Expressions.column("LastName"),
+            new LiteralValue<>(UTF8String.fromString("Smith"), DataTypes.StringType)
+        });
+        assertNull(FilterFactory.toPlanFilter(predicate));
+    }
+
+    private ObjectNode populateArg(OpticFilter filter) {
+        ObjectNode arg = objectMapper.createObjectNode();
+        filter.populateArg(arg);
+        return arg;
+    }
+}
@@ -11,6 +11,9 @@ import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -21,6 +24,9 @@ abstract class AbstractPushDownTest extends AbstractIntegrationTest {
 
     private long countOfRowsReadFromMarkLogic;
 
+    // Keyed on partition identifier, as Spark 3.5 may create a reader for the same partition more than once.
+    private final Map<String, Long> bucketsReadPerPartition = new ConcurrentHashMap<>();
+
     @BeforeEach
     void setup() {
         // This is used to track how many rows were read from MarkLogic. It's used to ensure that the filtering is
@@ -28,6 +34,7 @@ abstract class AbstractPushDownTest extends AbstractIntegrationTest {
         // faster as MarkLogic is returning fewer rows. A synchronized method is used in case the test uses multiple
         // partitions, as each will run on a separate thread.
         OpticPartitionReader.totalRowCountListener = this::addToRowCount;
+        OpticPartitionReader.bucketCountListener = bucketsReadPerPartition::put;
     }
 
     @Override
@@ -74,6 +81,14 @@ abstract class AbstractPushDownTest extends AbstractIntegrationTest {
         }
     }
 
+    protected final long getCountOfBucketsRead() {
+        return bucketsReadPerPartition.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    protected final void resetCountOfBucketsRead() {
+        bucketsReadPerPartition.clear();
+    }
+
     private synchronized void addToRowCount(long totalRowCount) {
         countOfRowsReadFromMarkLogic += totalRowCount;
     }
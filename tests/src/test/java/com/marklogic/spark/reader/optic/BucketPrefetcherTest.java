@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketPrefetcherTest {
+
+    private final AtomicInteger requestsInProgress = new AtomicInteger();
+    private final AtomicInteger maxRequestsInProgress = new AtomicInteger();
+    private final List<PlanAnalysis.Bucket> requestedBuckets = new CopyOnWriteArrayList<>();
+
+    @Test
+    void maxBytesLimitsBufferedResponses() throws Exception {
+        PlanAnalysis.Partition partition = new PlanAnalysis.Partition(1, 0, 1000, 10, 1000);
+
+        try (BucketPrefetcher prefetcher = new BucketPrefetcher(partition, this::readBucket, 10, 150)) {
+            waitForRequests(2);
+            Thread.sleep(200);
+            assertEquals(2, requestedBuckets.size(), "After the second 100-byte response, the 200 buffered bytes " +
+                "exceed the 150-byte maximum, so no further request should be made even though 10 buckets may be " +
+                "prefetched.");
+
+            assertEquals(100, prefetcher.nextBucket().length);
+            waitForRequests(3);
+            Thread.sleep(200);
+            assertEquals(3, requestedBuckets.size(), "Returning a bucket drops the buffered bytes to 100, which allows " +
+                "one more request, after which the buffered bytes are again over the maximum.");
+
+            for (int i = 0; i < 9; i++) {
+                assertEquals(100, prefetcher.nextBucket().length);
+            }
+            assertEquals(partition.getBuckets(), requestedBuckets, "Every bucket should be requested once and in order.");
+        }
+
+        assertEquals(1, maxRequestsInProgress.get(), "Only one request should ever be in progress at a time.");
+    }
+
+    @Test
+    void prefetchCountLimitsBufferedResponses() throws Exception {
+        PlanAnalysis.Partition partition = new PlanAnalysis.Partition(1, 0, 1000, 10, 1000);
+
+        try (BucketPrefetcher prefetcher = new BucketPrefetcher(partition, this::readBucket, 3, Long.MAX_VALUE)) {
+            waitForRequests(3);
+            Thread.sleep(200);
+            assertEquals(3, requestedBuckets.size());
+
+            prefetcher.nextBucket();
+            waitForRequests(4);
+            Thread.sleep(200);
+            assertEquals(4, requestedBuckets.size());
+        }
+
+        assertEquals(1, maxRequestsInProgress.get());
+    }
+
+    @Test
+    void failedRequest() {
+        PlanAnalysis.Partition partition = new PlanAnalysis.Partition(1, 0, 1000, 3, 1000);
+
+        try (BucketPrefetcher prefetcher = new BucketPrefetcher(partition, bucket -> {
+            if (partition.getBuckets().get(1).equals(bucket)) {
+                throw new IllegalStateException("Simulated failure");
+            }
+            return new byte[10];
+        }, 3, Long.MAX_VALUE)) {
+            assertEquals(10, prefetcher.nextBucket().length);
+            IllegalStateException ex = assertThrows(IllegalStateException.class, prefetcher::nextBucket);
+            assertEquals("Simulated failure", ex.getMessage());
+        }
+    }
+
+    private byte[] readBucket(PlanAnalysis.Bucket bucket) {
+        maxRequestsInProgress.accumulateAndGet(requestsInProgress.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        requestedBuckets.add(bucket);
+        requestsInProgress.decrementAndGet();
+        return new byte[100];
+    }
+
+    private void waitForRequests(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (requestedBuckets.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.marklogic.spark.reader.JsonRowDeserializer;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketRowIteratorTest {
+
+    private static final StructType SCHEMA = new StructType()
+        .add("id", DataTypes.LongType)
+        .add("name", DataTypes.StringType);
+
+    @Test
+    void rowsAfterColumns() throws IOException {
+        List<InternalRow> rows = readRows("{\"columns\":[{\"name\":\"id\"},{\"name\":\"name\"}], " +
+            "\"rows\":[{\"id\":1, \"name\":\"first\", \"ignored\":{\"nested\":true}}, {\"id\":2, \"name\":\"second\"}]}");
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).getLong(0));
+        assertEquals("first", rows.get(0).getString(1));
+        assertEquals(2, rows.get(1).getLong(0));
+        assertEquals("second", rows.get(1).getString(1));
+    }
+
+    @Test
+    void rowWithMissingColumn() throws IOException {
+        List<InternalRow> rows = readRows("{\"rows\":[{\"id\":1}]}");
+
+        assertEquals(1, rows.size());
+        assertEquals(1, rows.get(0).getLong(0));
+        assertTrue(rows.get(0).isNullAt(1));
+    }
+
+    @Test
+    void noRows() throws IOException {
+        assertEquals(0, readRows("{\"columns\":[], \"rows\":[]}").size());
+        assertEquals(0, readRows("{\"columns\":[]}").size());
+        assertEquals(0, readRows("").size());
+    }
+
+    @Test
+    void noResponse() {
+        assertFalse(new BucketRowIterator(null, new JsonRowDeserializer(SCHEMA)).hasNext());
+    }
+
+    @Test
+    void hasMoreRowsThan() throws IOException {
+        final String response = "{\"columns\":[{\"name\":\"id\"}], \"rows\":[{\"id\":1}, {\"id\":{\"nested\":[2]}}, {\"id\":3}]}";
+        JsonFactory factory = new JsonFactory();
+        assertTrue(BucketRowIterator.hasMoreRowsThan(factory.createParser(response), 2));
+        assertFalse(BucketRowIterator.hasMoreRowsThan(factory.createParser(response), 3));
+        assertFalse(BucketRowIterator.hasMoreRowsThan(factory.createParser("{\"columns\":[]}"), 0));
+        assertFalse(BucketRowIterator.hasMoreRowsThan(null, 0));
+    }
+
+    private List<InternalRow> readRows(String response) throws IOException {
+        BucketRowIterator iterator = new BucketRowIterator(new JsonFactory().createParser(response), new JsonRowDeserializer(SCHEMA));
+        List<InternalRow> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -3,6 +3,7 @@
  */
 package com.marklogic.spark.reader.optic;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -36,4 +37,33 @@ class CalculatePartitionsTest {
         assertEquals(expectedPartitionCount, partitions.size(), "Unexpected number of partitions");
         assertEquals(expectedBucketCount, bucketCount, "Unexpected number of buckets");
     }
+
+    @Test
+    void columnPartitions() {
+        List<PlanAnalysis.Partition> partitions = PlanAnalyzer.calculateColumnPartitions("CitationID", 1, 10, 3);
+
+        assertEquals(3, partitions.size());
+        assertBucket(partitions.get(0), Long.toString(Long.MIN_VALUE), "4");
+        assertBucket(partitions.get(1), "4", "7");
+        assertBucket(partitions.get(2), "7", Long.toString(Long.MAX_VALUE));
+    }
+
+    @Test
+    void moreColumnPartitionsThanValues() {
+        List<PlanAnalysis.Partition> partitions = PlanAnalyzer.calculateColumnPartitions("CitationID", 1, 3, 10);
+        assertEquals(2, partitions.size(), "A partition should not be created that could not contain any values.");
+    }
+
+    @Test
+    void columnPartitionsWithExtremeBounds() {
+        List<PlanAnalysis.Partition> partitions = PlanAnalyzer.calculateColumnPartitions("CitationID", Long.MIN_VALUE, Long.MAX_VALUE, 4);
+        assertEquals(4, partitions.size());
+        assertBucket(partitions.get(1), "-4611686018427387905", "-2");
+    }
+
+    private void assertBucket(PlanAnalysis.Partition partition, String lowerBound, String upperBound) {
+        assertEquals(1, partition.getBuckets().size());
+        assertEquals(lowerBound, partition.getBuckets().get(0).lowerBound);
+        assertEquals(upperBound, partition.getBuckets().get(0).upperBound);
+    }
 }
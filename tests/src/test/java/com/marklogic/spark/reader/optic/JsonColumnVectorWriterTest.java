@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.marklogic.spark.ConnectorException;
+import org.apache.spark.sql.execution.vectorized.OnHeapColumnVector;
+import org.apache.spark.sql.execution.vectorized.WritableColumnVector;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonColumnVectorWriterTest {
+
+    private static final StructType SCHEMA = new StructType()
+        .add("id", DataTypes.LongType)
+        .add("name", DataTypes.StringType)
+        .add("score", DataTypes.DoubleType)
+        .add("active", DataTypes.BooleanType)
+        .add("date", DataTypes.DateType)
+        .add("timestamp", DataTypes.TimestampType);
+
+    private final WritableColumnVector[] vectors = OnHeapColumnVector.allocateColumns(2, SCHEMA);
+    private final JsonColumnVectorWriter writer = new JsonColumnVectorWriter(SCHEMA, vectors, ZoneOffset.UTC);
+
+    @Test
+    void allTypes() throws IOException {
+        write("{\"id\": 1, \"name\": \"Jane\", \"score\": 1.5, \"active\": true, " +
+            "\"date\": \"2022-07-13\", \"timestamp\": \"2022-07-13T10:00:00.5Z\"}", 0);
+
+        assertEquals(1, vectors[0].getLong(0));
+        assertEquals("Jane", vectors[1].getUTF8String(0).toString());
+        assertEquals(1.5, vectors[2].getDouble(0));
+        assertTrue(vectors[3].getBoolean(0));
+        assertEquals(LocalDate.of(2022, 7, 13).toEpochDay(), vectors[4].getInt(0));
+        assertEquals(LocalDate.of(2022, 7, 13).atTime(10, 0).toEpochSecond(ZoneOffset.UTC) * 1000000 + 500000,
+            vectors[5].getLong(0));
+    }
+
+    @Test
+    void nullAndMissingValues() throws IOException {
+        write("{\"id\": null, \"other\": {\"ignored\": true}, \"score\": \"NaN\"}", 1);
+
+        assertTrue(vectors[0].isNullAt(1));
+        assertTrue(vectors[1].isNullAt(1), "A column that is not in the row should be null.");
+        assertTrue(Double.isNaN(vectors[2].getDouble(1)));
+        assertTrue(vectors[5].isNullAt(1));
+    }
+
+    @Test
+    void objectInStringColumn() throws IOException {
+        write("{\"name\": {\"hello\": \"world\"}}", 0);
+        assertEquals("{\"hello\":\"world\"}", vectors[1].getUTF8String(0).toString(),
+            "As with Spark's JacksonParser, a JSON object in a string column should be stored as its JSON text.");
+    }
+
+    @Test
+    void invalidDate() {
+        ConnectorException ex = assertThrows(ConnectorException.class, () -> write("{\"date\": \"not a date\"}", 0));
+        assertEquals("Unable to convert value not a date to type date for column date", ex.getMessage());
+    }
+
+    private void write(String json, int rowId) throws IOException {
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            parser.nextToken();
+            writer.write(parser, rowId);
+        }
+    }
+}
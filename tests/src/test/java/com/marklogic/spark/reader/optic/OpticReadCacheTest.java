@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.marklogic.spark.AbstractIntegrationTest;
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.DataFrameReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpticReadCacheTest extends AbstractIntegrationTest {
+
+    @AfterEach
+    void clearCache() {
+        OpticReadCache.clear();
+    }
+
+    @Test
+    void cacheSchemaAndPlanAnalysis() {
+        assertEquals(15, newCachingReader().load().count());
+        assertEquals(2, OpticReadCache.size(), "Both the inferred schema and the plan analysis should be cached.");
+
+        assertEquals(4, newCachingReader().load().filter("CitationID == 1").collectAsList().size());
+        assertEquals(15, newCachingReader().load().collectAsList().size(),
+            "The filter pushed down in the previous read should not have modified the cached plan analysis.");
+        assertEquals(2, OpticReadCache.size());
+    }
+
+    @Test
+    void differentPartitionCount() {
+        newCachingReader().load().count();
+        newCachingReader().option(Options.READ_NUM_PARTITIONS, 3).load().count();
+        assertEquals(3, OpticReadCache.size(), "The schema should be reused, but the plan analysis depends on the " +
+            "number of partitions and thus should be cached separately.");
+    }
+
+    @Test
+    void clear() {
+        newCachingReader().load().count();
+        OpticReadCache.clear();
+        assertEquals(0, OpticReadCache.size());
+        assertEquals(15, newCachingReader().load().count());
+    }
+
+    @Test
+    void notCachedByDefault() {
+        newDefaultReader().load().count();
+        assertEquals(0, OpticReadCache.size());
+    }
+
+    @Test
+    void keyDoesNotContainPassword() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Options.READ_OPTIC_QUERY, "op.fromView('Medical', 'Authors', '')");
+        properties.put(Options.CLIENT_HOST, "localhost");
+        properties.put(Options.CLIENT_PASSWORD, "secret-password");
+        String key = OpticReadCache.buildKey(properties);
+        assertFalse(key.contains("secret-password"), "The key is kept in a static map for the life of the driver, " +
+            "and thus must not contain the password; key: " + key);
+        assertFalse(key.contains("localhost"));
+
+        assertEquals(key, OpticReadCache.buildKey(new HashMap<>(properties)));
+        properties.put(Options.CLIENT_PASSWORD, "other-password");
+        assertNotEquals(key, OpticReadCache.buildKey(properties), "A different password should result in a " +
+            "different key, as it may be for a different user.");
+    }
+
+    private DataFrameReader newCachingReader() {
+        return newDefaultReader().option(Options.READ_CACHE_TTL, 60);
+    }
+}
@@ -7,11 +7,15 @@ import com.marklogic.spark.Options;
 import org.apache.spark.sql.Column;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * As of 2024-10-29, this is mysteriously failing with 8016 connection issues on Jenkins. Does not fail on MarkLogic
@@ -192,6 +196,52 @@ class PushDownFilterTest extends AbstractPushDownTest {
         assertRowsReadFromMarkLogic(7);
     }
 
+    @Test
+    void inWithManyValues() {
+        String values = IntStream.rangeClosed(1, 10000).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        assertEquals(15, getCountOfRowsWithFilter(String.format("CitationID IN (%s)", values)),
+            "Verifying that a large number of values can be pushed down via a single op.in.");
+        assertRowsReadFromMarkLogic(15);
+    }
+
+    @Test
+    void inWithNull() {
+        assertEquals(4, getCountOfRowsWithFilter("CitationID IN (1, null)"));
+        assertRowsReadFromMarkLogic(4);
+    }
+
+    @Test
+    void joinOnDateColumn() {
+        final SparkSession session = newSparkSession();
+        // Allows Spark to push the dates from the other side of the join down as a runtime filter.
+        session.conf().set("spark.sql.optimizer.dynamicPartitionPruning.reuseBroadcastOnly", false);
+        final long count = countRowsWithDateOfCitationOne(session);
+
+        session.conf().set("spark.sql.optimizer.dynamicPartitionPruning.enabled", false);
+        final long expectedCount = countRowsWithDateOfCitationOne(session);
+
+        assertTrue(expectedCount > 0);
+        assertEquals(expectedCount, count, "A runtime filter on a date column must not remove rows that match the " +
+            "join; Spark provides the dates as numbers of days, which would never match a date in MarkLogic.");
+    }
+
+    private long countRowsWithDateOfCitationOne(SparkSession session) {
+        Dataset<Row> dates = newDefaultReader(session)
+            .option(Options.READ_OPTIC_QUERY, QUERY_WITH_NO_QUALIFIER)
+            .load()
+            // Not pushed down, so that Spark sees a selective predicate on this side of the join.
+            .filter("CitationID + 0 = 1")
+            .select("Date")
+            .distinct();
+
+        return newDefaultReader(session)
+            .option(Options.READ_OPTIC_QUERY, QUERY_WITH_NO_QUALIFIER)
+            .load()
+            .join(dates, "Date")
+            .collectAsList()
+            .size();
+    }
+
     @Test
     void inWithNoMatches() {
         assertEquals(0, getCountOfRowsWithFilter("LastName in ('Doesnt', 'Match', 'Anything')"));
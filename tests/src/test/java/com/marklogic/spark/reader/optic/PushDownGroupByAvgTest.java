@@ -52,6 +52,36 @@ class PushDownGroupByAvgTest extends AbstractPushDownTest {
         verifyRowsHaveCorrectValues(rows, "avg(LuckyNumber)");
     }
 
+    @Test
+    void partialAggregatesForEachBucket() {
+        List<Row> unmergedRows = readAvgWithSmallBatchSize(false);
+        assertEquals(8, getCountOfBucketsRead(), "With 15 rows, 2 partitions, and a batch size of 2, each partition " +
+            "should have 4 buckets, and each bucket should be read via a separate request that returns partial " +
+            "aggregates.");
+        assertEquals(5, unmergedRows.size());
+        verifyRowsHaveCorrectValues(unmergedRows, "avg(LuckyNumber)");
+
+        resetCountOfBucketsRead();
+        List<Row> mergedRows = readAvgWithSmallBatchSize(true);
+        assertEquals(2, getCountOfBucketsRead(), "Each of the 2 partitions should make a single request when its " +
+            "buckets are merged, even though a batch size is set.");
+        assertEquals(unmergedRows, mergedRows, "Merging Spark's partial aggregates from each bucket should produce " +
+            "the same result as MarkLogic aggregating each partition in a single request.");
+    }
+
+    private List<Row> readAvgWithSmallBatchSize(boolean mergeBuckets) {
+        return newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, QUERY_WITH_NO_QUALIFIER)
+            .option(Options.READ_NUM_PARTITIONS, 2)
+            .option(Options.READ_BATCH_SIZE, 2)
+            .option(Options.READ_MERGE_BUCKETS_FOR_AGGREGATES, mergeBuckets)
+            .load()
+            .groupBy("CitationID")
+            .avg("LuckyNumber")
+            .orderBy("CitationID")
+            .collectAsList();
+    }
+
     @Test
     void aggAvg() {
         verifyRows(
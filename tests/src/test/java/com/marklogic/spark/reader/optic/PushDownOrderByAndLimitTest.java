@@ -193,6 +193,40 @@ class PushDownOrderByAndLimitTest extends AbstractPushDownTest {
         assertEquals("Canham", rows.get(2).getAs(column));
     }
 
+    @Test
+    void limitWithSplitBucket() {
+        long count = newDefaultReader()
+            .option(Options.READ_NUM_PARTITIONS, 1)
+            .option(Options.READ_BATCH_SIZE, 0)
+            .option(Options.READ_SPLIT_BUCKET_MAX_ROWS, 2)
+            .load()
+            .limit(10)
+            .count();
+
+        assertEquals(10, count, "The single bucket will be split, with the limit applied to each sub-bucket, so " +
+            "Spark must still apply the limit to the returned rows.");
+    }
+
+    @Test
+    void sortAndLimitWithSplitBucket() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, QUERY_WITH_NO_QUALIFIER)
+            .option(Options.READ_NUM_PARTITIONS, 1)
+            .option(Options.READ_BATCH_SIZE, 0)
+            .option(Options.READ_SPLIT_BUCKET_MAX_ROWS, 2)
+            .load()
+            .sort("CitationID", "LastName")
+            .limit(8)
+            .collectAsList();
+
+        assertEquals(8, rows.size(), "Spark must apply the orderBy and limit to the rows from every sub-bucket of " +
+            "the split bucket, as each sub-bucket is only ordered and limited on its own.");
+        verifyRowsAreOrderedByCitationID(rows);
+        assertEquals("Awton", rows.get(0).getAs("LastName"));
+        assertEquals("Bernadzki", rows.get(1).getAs("LastName"));
+        assertEquals("Canham", rows.get(2).getAs("LastName"));
+    }
+
     private void verifyRowsAreOrderedByCitationID(List<Row> rows) {
         // Lowest known CitationID is 1, so start comparisons against that.
         long previousValue = 1;
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushDownSampleTest extends AbstractPushDownTest {
+
+    @Test
+    void sample() {
+        Dataset<Row> dataset = newDefaultReader()
+            .option(Options.READ_NUM_PARTITIONS, 3)
+            .load()
+            .sample(0.5, 1);
+
+        assertFalse(dataset.queryExecution().optimizedPlan().toString().contains("Sample"),
+            "The sample should have been pushed down to the connector and thus not be applied by Spark.");
+        List<Row> rows = dataset.collectAsList();
+        assertTrue(rows.size() < 15, "Unexpected row count: " + rows.size());
+        assertEquals(rows.size(), dataset.collectAsList().size(), "The same seed should produce the same sample.");
+    }
+
+    @Test
+    void tinySample() {
+        assertEquals(0, newDefaultReader()
+            .load()
+            .sample(0.000001)
+            .collectAsList()
+            .size(), "Given 15 rows, it is extremely unlikely that any row ID falls within the sampled ranges.");
+        assertRowsReadFromMarkLogic(0);
+    }
+
+    @Test
+    void sampleWithAggregation() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, QUERY_WITH_NO_QUALIFIER)
+            .load()
+            .sample(0.000001)
+            .groupBy("CitationID")
+            .count()
+            .collectAsList();
+
+        assertEquals(0, rows.size(), "The buckets should not be merged when an aggregation is pushed down, as " +
+            "that would cause the row IDs between the sampled ranges to be included.");
+    }
+
+    @Test
+    void withReplacement() {
+        Dataset<Row> dataset = newDefaultReader().load().sample(true, 0.5);
+        assertTrue(dataset.queryExecution().optimizedPlan().toString().contains("Sample"),
+            "A sample with replacement cannot be pushed down, so it must be applied by Spark.");
+    }
+
+    @Test
+    void notFromView() {
+        Dataset<Row> dataset = newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, "op.fromSQL('select * from Medical.Authors')")
+            .load()
+            .sample(0.5);
+        assertTrue(dataset.queryExecution().optimizedPlan().toString().contains("Sample"),
+            "A sample cannot be pushed down when all rows are read in a single request.");
+    }
+}
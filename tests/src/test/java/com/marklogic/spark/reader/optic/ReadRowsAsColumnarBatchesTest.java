@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.marklogic.spark.AbstractIntegrationTest;
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadRowsAsColumnarBatchesTest extends AbstractIntegrationTest {
+
+    @Test
+    void onHeap() {
+        Dataset<Row> dataset = newDefaultReader()
+            .option(Options.READ_NUM_PARTITIONS, 2)
+            .option(Options.READ_BATCH_SIZE, 5)
+            .option(Options.READ_COLUMNAR, true)
+            .load();
+
+        assertTrue(dataset.queryExecution().executedPlan().toString().contains("ColumnarToRow"),
+            "Spark should convert the connector's columnar batches into rows for collecting them.");
+        assertEquals(readRowsAsStrings(false), toSortedStrings(dataset.collectAsList()),
+            "The rows should be the same as when columnar batches are not used.");
+    }
+
+    @Test
+    void offHeap() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_COLUMNAR, true)
+            .option(Options.READ_COLUMNAR_OFF_HEAP, true)
+            .load()
+            .collectAsList();
+
+        assertEquals(readRowsAsStrings(false), toSortedStrings(rows));
+    }
+
+    @Test
+    void withPushedDownAggregate() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, "op.fromView('Medical', 'Authors', '')")
+            .option(Options.READ_COLUMNAR, true)
+            .load()
+            .groupBy("CitationID")
+            .count()
+            .orderBy("CitationID")
+            .collectAsList();
+
+        assertEquals(5, rows.size());
+        assertEquals(4, (long) rows.get(0).getAs("count"));
+    }
+
+    @Test
+    void nonUtcSessionTimeZone() {
+        List<Row> rows = newDefaultReader(newSparkSession("America/Los_Angeles"))
+            .option(Options.READ_COLUMNAR, true)
+            .load()
+            .collectAsList();
+
+        List<Row> expectedRows = newDefaultReader(newSparkSession("America/Los_Angeles"))
+            .load()
+            .collectAsList();
+
+        assertEquals(toSortedStrings(expectedRows), toSortedStrings(rows), "Dates and timestamps written directly " +
+            "to column vectors should have the same values as when they are converted into rows by Spark.");
+    }
+
+    @Test
+    void notEnabledByDefault() {
+        Dataset<Row> dataset = newDefaultReader().load();
+        assertFalse(dataset.queryExecution().executedPlan().toString().contains("ColumnarToRow"));
+    }
+
+    private List<String> readRowsAsStrings(boolean columnar) {
+        return toSortedStrings(newDefaultReader()
+            .option(Options.READ_COLUMNAR, columnar)
+            .load()
+            .collectAsList());
+    }
+
+    private List<String> toSortedStrings(List<Row> rows) {
+        return rows.stream().map(Row::toString).sorted().collect(Collectors.toList());
+    }
+}
@@ -127,4 +127,82 @@ class ReadRowsTest extends AbstractIntegrationTest {
         ConnectorException ex = assertThrows(ConnectorException.class, reader::load);
         assertEquals("The value of 'spark.marklogic.read.batchSize' must be 0 or greater.", ex.getMessage());
     }
+
+    @Test
+    void prefetchBuckets() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_NUM_PARTITIONS, 2)
+            .option(Options.READ_BATCH_SIZE, 2)
+            .option(Options.READ_PREFETCH_BUCKETS, 3)
+            .load()
+            .collectAsList();
+
+        assertEquals(15, rows.size(), "Prefetching buckets should not affect which rows are returned.");
+    }
+
+    @Test
+    void prefetchBucketsWithTinyMaxBytes() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_NUM_PARTITIONS, 1)
+            .option(Options.READ_BATCH_SIZE, 2)
+            .option(Options.READ_PREFETCH_BUCKETS, 5)
+            .option(Options.READ_PREFETCH_MAX_BYTES, 1)
+            .load()
+            .collectAsList();
+
+        assertEquals(15, rows.size(), "When the max bytes is reached, the next bucket should still be requested " +
+            "once the buffered response has been processed.");
+    }
+
+    @Test
+    void prefetchBucketsLessThanZero() {
+        DataFrameReader reader = newDefaultReader().option(Options.READ_PREFETCH_BUCKETS, "-1");
+        ConnectorException ex = assertThrows(ConnectorException.class, reader::load);
+        assertEquals("The value of 'spark.marklogic.read.prefetchBuckets' must be 0 or greater.", ex.getMessage());
+    }
+
+    @Test
+    void splitBucketsWithTooManyRows() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_NUM_PARTITIONS, 1)
+            .option(Options.READ_BATCH_SIZE, 0)
+            .option(Options.READ_SPLIT_BUCKET_MAX_ROWS, 2)
+            .load()
+            .collectAsList();
+
+        assertEquals(15, rows.size(), "The single bucket should be split until no bucket has more than 2 rows, " +
+            "with every row still being returned exactly once.");
+        assertEquals(15, rows.stream().map(Row::toString).distinct().count());
+    }
+
+    @Test
+    void splitPrefetchedBuckets() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_NUM_PARTITIONS, 2)
+            .option(Options.READ_BATCH_SIZE, 5)
+            .option(Options.READ_PREFETCH_BUCKETS, 2)
+            .option(Options.READ_SPLIT_BUCKET_MAX_ROWS, 1)
+            .load()
+            .collectAsList();
+
+        assertEquals(15, rows.size());
+        assertEquals(15, rows.stream().map(Row::toString).distinct().count());
+    }
+
+    @Test
+    void splitBucketsWithAggregation() {
+        List<Row> rows = newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, "op.fromView('Medical', 'Authors', '')")
+            .option(Options.READ_NUM_PARTITIONS, 1)
+            .option(Options.READ_SPLIT_BUCKET_MAX_ROWS, 2)
+            .load()
+            .groupBy("CitationID")
+            .count()
+            .orderBy("CitationID")
+            .collectAsList();
+
+        assertEquals(5, rows.size(), "Spark should still apply the aggregation since the connector cannot know in " +
+            "advance whether the single request to MarkLogic will be split.");
+        assertEquals(4, (long) rows.get(0).getAs("count"));
+    }
 }
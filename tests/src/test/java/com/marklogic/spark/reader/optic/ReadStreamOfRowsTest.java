@@ -7,6 +7,7 @@ import com.marklogic.spark.AbstractIntegrationTest;
 import com.marklogic.spark.ConnectorException;
 import com.marklogic.spark.Options;
 import org.apache.spark.sql.streaming.DataStreamReader;
+import org.apache.spark.sql.streaming.Trigger;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -69,6 +70,62 @@ class ReadStreamOfRowsTest extends AbstractIntegrationTest {
             "bucket, but that should be extremely rare).");
     }
 
+    @Test
+    void multipleBucketsPerMicroBatch() throws Exception {
+        AtomicInteger microBatchCounter = new AtomicInteger();
+        AtomicLong rowCount = new AtomicLong();
+        AtomicInteger maxPartitionCount = new AtomicInteger();
+
+        newSparkSession()
+            .readStream()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.CLIENT_URI, makeClientUri())
+            .option(Options.READ_NUM_PARTITIONS, 5)
+            .option(Options.READ_MAX_BUCKETS_PER_TRIGGER, 2)
+            .option(Options.READ_OPTIC_QUERY, "op.fromView('Medical','Authors')")
+            .load()
+            .writeStream()
+            .foreachBatch((dataset, batchId) -> {
+                rowCount.addAndGet(dataset.count());
+                microBatchCounter.incrementAndGet();
+                maxPartitionCount.accumulateAndGet(dataset.rdd().getNumPartitions(), Math::max);
+            })
+            .start()
+            .processAllAvailable();
+
+        assertEquals(15, rowCount.get());
+        assertEquals(3, microBatchCounter.get(), "The 5 buckets should be read in 3 micro-batches, with the first " +
+            "2 micro-batches each reading 2 buckets.");
+        assertEquals(2, maxPartitionCount.get(), "Each bucket in a micro-batch should be read by a separate partition.");
+    }
+
+    @Test
+    void availableNow() throws Exception {
+        AtomicInteger microBatchCounter = new AtomicInteger();
+        AtomicLong rowCount = new AtomicLong();
+
+        newSparkSession()
+            .readStream()
+            .format(CONNECTOR_IDENTIFIER)
+            .option(Options.CLIENT_URI, makeClientUri())
+            .option(Options.READ_NUM_PARTITIONS, 4)
+            .option(Options.READ_MAX_BUCKETS_PER_TRIGGER, 3)
+            .option(Options.READ_OPTIC_QUERY, "op.fromView('Medical','Authors')")
+            .load()
+            .writeStream()
+            .trigger(Trigger.AvailableNow())
+            .foreachBatch((dataset, batchId) -> {
+                rowCount.addAndGet(dataset.count());
+                microBatchCounter.incrementAndGet();
+            })
+            .start()
+            .awaitTermination();
+
+        assertEquals(15, rowCount.get());
+        assertEquals(2, microBatchCounter.get(), "The 4 buckets should be read in 2 micro-batches, and the query " +
+            "should then stop on its own.");
+    }
+
     @Test
     void readWithNoQuery() {
         DataStreamReader reader = newSparkSession()
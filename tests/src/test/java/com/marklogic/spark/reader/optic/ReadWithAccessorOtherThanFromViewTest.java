@@ -4,8 +4,10 @@
 package com.marklogic.spark.reader.optic;
 
 import com.marklogic.spark.AbstractIntegrationTest;
+import com.marklogic.spark.ConnectorException;
 import com.marklogic.spark.Options;
 import org.apache.spark.sql.DataFrameReader;
+import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.StructField;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Verifies that DSL queries with accessors other than "fromView" will succeed, as of the 2.5.0 release.
@@ -67,6 +70,49 @@ class ReadWithAccessorOtherThanFromViewTest extends AbstractIntegrationTest {
         assertEquals(4, rows.get(0).getLong(1), "Should be 4 rows with CitationID=1.");
     }
 
+    @Test
+    void fromSQLPartitionedByColumn() {
+        Dataset<Row> dataset = readWithQuery("op.fromSQL('select * from Medical.Authors')")
+            .option(Options.READ_NUM_PARTITIONS, 3)
+            .option(Options.READ_PARTITION_COLUMN, "Medical.Authors.CitationID")
+            .option(Options.READ_PARTITION_LOWER_BOUND, 1)
+            .option(Options.READ_PARTITION_UPPER_BOUND, 5)
+            .load();
+
+        assertEquals(3, dataset.rdd().getNumPartitions());
+        List<Row> rows = dataset.collectAsList();
+        assertEquals(15, rows.size(), "Each row should be read by exactly one partition.");
+        assertEquals(4, rows.stream().filter(row -> (long) row.getAs("Medical.Authors.CitationID") == 1).count());
+    }
+
+    @Test
+    void fromSQLPartitionedByColumnWithAggregate() {
+        List<Row> rows = readWithQuery("op.fromSQL('select * from Medical.Authors')")
+            .option(Options.READ_NUM_PARTITIONS, 2)
+            .option(Options.READ_PARTITION_COLUMN, "Medical.Authors.CitationID")
+            .option(Options.READ_PARTITION_LOWER_BOUND, 1)
+            .option(Options.READ_PARTITION_UPPER_BOUND, 5)
+            .load()
+            .groupBy("`Medical.Authors.CitationID`")
+            .count()
+            .orderBy("`Medical.Authors.CitationID`")
+            .collectAsList();
+
+        assertEquals(5, rows.size());
+        assertEquals(4, (long) rows.get(0).getAs("count"));
+    }
+
+    @Test
+    void partitionColumnWithoutBounds() {
+        DataFrameReader reader = readWithQuery("op.fromSQL('select * from Medical.Authors')")
+            .option(Options.READ_PARTITION_COLUMN, "Medical.Authors.CitationID")
+            .option(Options.READ_PARTITION_LOWER_BOUND, 1);
+
+        ConnectorException ex = assertThrows(ConnectorException.class, reader::load);
+        assertEquals("Must define both 'spark.marklogic.read.partitionLowerBound' and " +
+            "'spark.marklogic.read.partitionUpperBound' when 'spark.marklogic.read.partitionColumn' is defined.", ex.getMessage());
+    }
+
     private DataFrameReader readWithQuery(String query) {
         return newSparkSession().read()
             .format(CONNECTOR_IDENTIFIER)
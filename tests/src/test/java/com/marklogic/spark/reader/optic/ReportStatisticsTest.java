@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import com.marklogic.spark.AbstractIntegrationTest;
+import com.marklogic.spark.Options;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.catalyst.plans.logical.Statistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportStatisticsTest extends AbstractIntegrationTest {
+
+    @Test
+    void rowCountAndSize() {
+        Dataset<Row> dataset = newDefaultReader().load();
+
+        Statistics stats = dataset.queryExecution().optimizedPlan().stats();
+        assertEquals(15, stats.rowCount().get().longValue());
+        assertEquals(15L * dataset.schema().defaultSize(), stats.sizeInBytes().longValue(),
+            "The size should be estimated based on Spark's default size for each column.");
+    }
+
+    @Test
+    void smallViewIsBroadcast() {
+        Dataset<Row> authors = newDefaultReader().load();
+        Dataset<Row> numbers = sparkSession.range(10_000_000).toDF("CitationID");
+
+        String plan = numbers.join(authors, "CitationID").queryExecution().executedPlan().toString();
+        assertTrue(plan.contains("BroadcastHashJoin"), "Because the connector reports that the Authors view is " +
+            "small, Spark should broadcast it instead of shuffling both datasets; plan: " + plan);
+    }
+
+    @Test
+    void noStatisticsForUnion() {
+        Dataset<Row> dataset = newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, "op.fromView('Medical', 'Authors', '')" +
+                ".union(op.fromView('Medical', 'Authors', ''))")
+            .load();
+
+        Statistics stats = dataset.queryExecution().optimizedPlan().stats();
+        assertFalse(stats.rowCount().isDefined(), "The number of rows in the view is not an estimate of the rows " +
+            "returned by a union, so a row count should not be reported.");
+    }
+
+    @Test
+    void noRowsFound() {
+        Statistics stats = newDefaultReader()
+            .option(Options.READ_OPTIC_QUERY, NO_AUTHORS_QUERY)
+            .load()
+            .queryExecution().optimizedPlan().stats();
+
+        assertEquals(0, stats.rowCount().get().longValue());
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SampleBucketsTest {
+
+    @Test
+    void sampleBuckets() {
+        PlanAnalysis.Partition p = new PlanAnalysis.Partition(1, 0, 2000, 2, 2000).sampleBuckets(0.25, 0.5);
+
+        assertEquals(2, p.getBuckets().size());
+        assertEquals("250", p.getBuckets().get(0).lowerBound);
+        assertEquals("500", p.getBuckets().get(0).upperBound);
+        assertEquals("1250", p.getBuckets().get(1).lowerBound);
+        assertEquals("1500", p.getBuckets().get(1).upperBound);
+    }
+
+    @Test
+    void sampleBucketWithUnsignedUpperBound() {
+        PlanAnalysis.Bucket bucket = new PlanAnalysis.Bucket("0", Long.toUnsignedString(-1)).sample(0.5, 1);
+
+        assertEquals("9223372036854775807", bucket.lowerBound);
+        assertEquals("18446744073709551615", bucket.upperBound);
+    }
+}
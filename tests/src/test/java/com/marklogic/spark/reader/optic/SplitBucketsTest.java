@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2025 MarkLogic Corporation. All Rights Reserved.
+ */
+package com.marklogic.spark.reader.optic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitBucketsTest {
+
+    @Test
+    void splitBucket() {
+        PlanAnalysis.Bucket bucket = new PlanAnalysis.Bucket("100", "1100");
+        assertTrue(bucket.canBeSplit());
+
+        List<PlanAnalysis.Bucket> subBuckets = bucket.split();
+        assertEquals(4, subBuckets.size());
+        assertEquals("100", subBuckets.get(0).lowerBound);
+        assertEquals("350", subBuckets.get(0).upperBound);
+        assertEquals("351", subBuckets.get(1).lowerBound);
+        assertEquals("601", subBuckets.get(1).upperBound);
+        assertEquals("602", subBuckets.get(2).lowerBound);
+        assertEquals("852", subBuckets.get(2).upperBound);
+        assertEquals("853", subBuckets.get(3).lowerBound);
+        assertEquals("1100", subBuckets.get(3).upperBound);
+    }
+
+    @Test
+    void splitBucketWithUnsignedUpperBound() {
+        PlanAnalysis.Bucket bucket = new PlanAnalysis.Bucket("0", Long.toUnsignedString(-1));
+
+        List<PlanAnalysis.Bucket> subBuckets = bucket.split();
+        assertEquals(4, subBuckets.size());
+        assertEquals("4611686018427387903", subBuckets.get(0).upperBound);
+        assertEquals("4611686018427387904", subBuckets.get(1).lowerBound);
+        assertEquals("18446744073709551615", subBuckets.get(3).upperBound,
+            "The last sub-bucket should end at the max unsigned long, just like the original bucket.");
+    }
+
+    @Test
+    void bucketTooSmallToSplit() {
+        assertFalse(new PlanAnalysis.Bucket("0", "15").canBeSplit());
+        assertTrue(new PlanAnalysis.Bucket("0", "16").canBeSplit());
+        assertFalse(PlanAnalysis.Partition.singleCallPartition().getBuckets().get(0).canBeSplit());
+    }
+}
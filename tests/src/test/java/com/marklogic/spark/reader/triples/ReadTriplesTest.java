@@ -161,6 +161,59 @@ class ReadTriplesTest extends AbstractIntegrationTest {
             "returned twice, once per collection assigned to the document.");
     }
 
+    @Test
+    void pushDownSubjectAndPredicate() {
+        List<Row> rows = startRead()
+            .option(Options.READ_TRIPLES_GRAPHS, "http://example.org/graph")
+            .load()
+            .filter("subject = 'http://vocabulary.worldbank.org/taxonomy/451' " +
+                "AND predicate = 'http://www.w3.org/2004/02/skos/core#prefLabel'")
+            .collectAsList();
+
+        assertEquals(1, rows.size());
+        assertEquals("http://vocabulary.worldbank.org/taxonomy/451", rows.get(0).getString(0));
+        assertEquals("http://www.w3.org/2004/02/skos/core#prefLabel", rows.get(0).getString(1));
+        assertEquals("Debt Management", rows.get(0).getString(2));
+        assertEquals("en", rows.get(0).getString(4));
+    }
+
+    @Test
+    void pushDownGraph() {
+        long count = startRead()
+            .option(Options.READ_TRIPLES_COLLECTIONS, "test-config")
+            .load()
+            .filter("graph IN ('http://example.org/graph', 'other-graph')")
+            .count();
+
+        assertEquals(16, count, "The graph filter should be pushed down, and it should still return the 8 triples " +
+            "in each of the 2 graphs.");
+    }
+
+    @Test
+    void onlyRequiredColumns() {
+        List<Row> rows = startRead()
+            .option(Options.READ_TRIPLES_GRAPHS, "http://example.org/graph")
+            .load()
+            .select("subject", "lang")
+            .collectAsList();
+
+        assertEquals(8, rows.size());
+        assertEquals(1, rows.stream().filter(row -> "en".equals(row.getString(1))).count(),
+            "The datatype column must still be bound for the lang column to be computed.");
+    }
+
+    @Test
+    void prefetch() {
+        List<Row> rows = startRead()
+            .option(Options.READ_TRIPLES_COLLECTIONS, "http://example.org/graph,other-graph")
+            .option(Options.READ_TRIPLES_PREFETCH, true)
+            .option(Options.READ_BATCH_SIZE, 1)
+            .load()
+            .collectAsList();
+
+        assertEquals(32, rows.size(), "Prefetching each batch should not change which triples are returned.");
+    }
+
     private DataFrameReader startRead() {
         return newSparkSession()
             .read().format(CONNECTOR_IDENTIFIER)